@@ -0,0 +1,49 @@
+package com.assessment.benchmark;
+
+import com.assessment.entity.Assessment;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 基准测试数据生成
+ * 保存路径: benchmarks/src/main/java/com/assessment/benchmark/BenchmarkData.java
+ *
+ * 固定随机种子，保证每次运行的数据一致、结果可对比。
+ */
+public final class BenchmarkData {
+
+    public static final long SEED = 20240901L;
+    public static final LocalDate START_DATE = LocalDate.of(2023, 9, 1);
+    public static final int DAYS = 365;
+    public static final int STUDENTS = 2000;
+
+    private BenchmarkData() {}
+
+    public static List<Assessment> assessments(int rows) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Assessment> assessments = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            assessments.add(assessment(random));
+        }
+        return assessments;
+    }
+
+    public static Assessment assessment(SplittableRandom random) {
+        Assessment assessment = new Assessment();
+        assessment.setStudentName(studentName(random.nextInt(STUDENTS)));
+        assessment.setAssessmentDate(START_DATE.plusDays(random.nextInt(DAYS)));
+        assessment.setDisciplineScore(1 + random.nextInt(5));
+        assessment.setSkillCompletionRate(Math.round(random.nextDouble() * 1000) / 10.0);
+        int totalTasks = 1 + random.nextInt(20);
+        assessment.setTotalTasks(totalTasks);
+        assessment.setTasksCompleted(random.nextInt(totalTasks + 1));
+        return assessment;
+    }
+
+    public static String studentName(int index) {
+        return "学生" + index;
+    }
+}
@@ -0,0 +1,54 @@
+package com.assessment.benchmark;
+
+import com.assessment.dto.TrendData;
+import com.assessment.entity.Assessment;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 旧版 AssessmentService.generateTrendData 的原样拷贝，作为对比基线
+ * 保存路径: benchmarks/src/main/java/com/assessment/benchmark/LegacyTrend.java
+ */
+final class LegacyTrend {
+
+    private LegacyTrend() {}
+
+    static List<TrendData> generateTrendData(List<Assessment> assessments, String type) {
+        if (assessments == null || assessments.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, List<Double>> groupedData = new HashMap<>();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+        for (Assessment assessment : assessments) {
+            String dateKey = assessment.getAssessmentDate().format(formatter);
+            groupedData.computeIfAbsent(dateKey, k -> new ArrayList<>());
+
+            switch (type) {
+                case "discipline":
+                    groupedData.get(dateKey).add(assessment.getDisciplineScore().doubleValue());
+                    break;
+                case "skill":
+                    groupedData.get(dateKey).add(assessment.getSkillCompletionRate());
+                    break;
+                case "task":
+                    groupedData.get(dateKey).add(assessment.getTaskCompletionRate());
+                    break;
+            }
+        }
+
+        return groupedData.entrySet().stream()
+                .map(entry -> new TrendData(
+                        entry.getKey(),
+                        entry.getValue().stream().mapToDouble(Double::doubleValue).average().orElse(0.0)
+                ))
+                .sorted((a, b) -> a.getDate().compareTo(b.getDate()))
+                .collect(Collectors.toList());
+    }
+}
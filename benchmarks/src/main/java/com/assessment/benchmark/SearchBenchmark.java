@@ -0,0 +1,135 @@
+package com.assessment.benchmark;
+
+import com.assessment.entity.Assessment;
+import com.assessment.service.NgramIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 学生姓名搜索对比：LOWER(student_name) LIKE '%x%' 全表扫描 vs n-gram 索引解析姓名 + 按学生ID索引查询
+ * 保存路径: benchmarks/src/main/java/com/assessment/benchmark/SearchBenchmark.java
+ *
+ * 使用内存 H2，表结构及 (student_id, assessment_date) 索引与 assessments 表一致。
+ * keyword 覆盖三种情况：完整姓名（trigram 候选集）、两个字符（单个 gram）、不存在的姓名。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class SearchBenchmark {
+
+    @Param({"200000"})
+    public int rows;
+
+    @Param({"学生1234", "99", "学生99999"})
+    public String keyword;
+
+    private Connection connection;
+    private PreparedStatement likeQuery;
+    private final NgramIndex index = new NgramIndex();
+    private final Map<String, Long> studentIds = new HashMap<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search_benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS assessments");
+            statement.execute("CREATE TABLE assessments (id BIGINT PRIMARY KEY, student_name VARCHAR(255) NOT NULL, "
+                    + "student_id BIGINT, assessment_date DATE NOT NULL, discipline_score INT NOT NULL, "
+                    + "skill_completion_rate DOUBLE NOT NULL, tasks_completed INT NOT NULL, total_tasks INT NOT NULL)");
+            statement.execute("CREATE INDEX idx_assessments_student_date ON assessments(student_id, assessment_date)");
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        List<Assessment> assessments = BenchmarkData.assessments(rows);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO assessments VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            long id = 1;
+            for (Assessment assessment : assessments) {
+                Long studentId = studentIds.computeIfAbsent(assessment.getStudentName(), name -> studentIds.size() + 1L);
+                insert.setLong(1, id++);
+                insert.setString(2, assessment.getStudentName());
+                insert.setLong(3, studentId);
+                insert.setDate(4, Date.valueOf(assessment.getAssessmentDate()));
+                insert.setInt(5, assessment.getDisciplineScore());
+                insert.setDouble(6, assessment.getSkillCompletionRate());
+                insert.setInt(7, assessment.getTasksCompleted());
+                insert.setInt(8, assessment.getTotalTasks());
+                insert.addBatch();
+                if (id % 5000 == 0) insert.executeBatch();
+                counts.merge(assessment.getStudentName(), 1, Integer::sum);
+            }
+            insert.executeBatch();
+        }
+        counts.forEach(index::add);
+
+        likeQuery = connection.prepareStatement("SELECT * FROM assessments WHERE LOWER(student_name) LIKE ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE assessments");
+        }
+        connection.close();
+    }
+
+    /**
+     * 旧实现：findByStudentNameContainingIgnoreCase 生成的 LIKE 查询
+     */
+    @Benchmark
+    public int likeScan() throws SQLException {
+        likeQuery.setString(1, "%" + keyword.toLowerCase() + "%");
+        return countRows(likeQuery);
+    }
+
+    /**
+     * 只解析候选姓名
+     */
+    @Benchmark
+    public List<String> indexResolveNames() {
+        return index.search(keyword);
+    }
+
+    /**
+     * 新实现：解析姓名后按 student_id IN (...) 走索引查询
+     */
+    @Benchmark
+    public int indexLookup() throws SQLException {
+        List<String> names = index.search(keyword);
+        if (names.isEmpty()) return 0;
+
+        String placeholders = String.join(", ", Collections.nCopies(names.size(), "?"));
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT * FROM assessments WHERE student_id IN (" + placeholders + ")")) {
+            for (int i = 0; i < names.size(); i++) {
+                query.setLong(i + 1, studentIds.get(names.get(i)));
+            }
+            return countRows(query);
+        }
+    }
+
+    private int countRows(PreparedStatement query) throws SQLException {
+        int count = 0;
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
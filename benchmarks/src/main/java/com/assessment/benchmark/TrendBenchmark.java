@@ -0,0 +1,49 @@
+package com.assessment.benchmark;
+
+import com.assessment.dto.AssessmentStatistics;
+import com.assessment.entity.Assessment;
+import com.assessment.service.TrendAccumulator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 趋势计算对比：旧版三次分组遍历 vs TrendAccumulator 单次遍历
+ * 保存路径: benchmarks/src/main/java/com/assessment/benchmark/TrendBenchmark.java
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class TrendBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private List<Assessment> assessments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        assessments = BenchmarkData.assessments(rows);
+    }
+
+    @Benchmark
+    public void legacyThreePasses(Blackhole blackhole) {
+        blackhole.consume(LegacyTrend.generateTrendData(assessments, "discipline"));
+        blackhole.consume(LegacyTrend.generateTrendData(assessments, "skill"));
+        blackhole.consume(LegacyTrend.generateTrendData(assessments, "task"));
+    }
+
+    @Benchmark
+    public AssessmentStatistics accumulatorSinglePass() {
+        TrendAccumulator accumulator = new TrendAccumulator();
+        accumulator.addAll(assessments);
+        AssessmentStatistics stats = new AssessmentStatistics();
+        accumulator.writeTrends(stats);
+        return stats;
+    }
+}
@@ -0,0 +1,75 @@
+package com.assessment.config;
+
+import com.assessment.entity.Assessment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 启动时的数据库迁移
+ * 保存路径: src/main/java/com/assessment/config/DatabaseMigration.java
+ *
+ * 表结构由 Hibernate ddl-auto=update 维护，这里只处理它无法完成的数据修正。
+ * 每一步都是幂等的，可以在每次启动时重复执行。
+ */
+@Component
+public class DatabaseMigration {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 注入 EntityManagerFactory 保证 Hibernate 的建表/更新已经完成
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void migrate() {
+        alignAssessmentSequence();
+        backfillStudents();
+        dropObsoleteIndexes();
+    }
+
+    /**
+     * 旧数据库的 ID 由 IDENTITY 列生成，新建的 assessments_seq 从1开始，
+     * 需要把序列推进到现有最大 ID 之后，避免主键冲突。
+     */
+    private void alignAssessmentSequence() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM assessments", Long.class);
+        Long nextValue = jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ASSESSMENTS_SEQ'",
+                Long.class);
+        if (maxId == null || maxId == 0 || nextValue == null) return;
+
+        // pooled 优化器把取到的序列值作为号段上界，号段下界 = 序列值 - allocationSize + 1
+        long required = maxId + Assessment.ID_ALLOCATION_SIZE;
+        if (nextValue < required) {
+            jdbcTemplate.execute("ALTER SEQUENCE assessments_seq RESTART WITH " + required);
+            System.out.println("评估系统: 序列 assessments_seq 已对齐到 " + required);
+        }
+    }
+
+    /**
+     * 旧数据库的评估记录只有学生姓名：为每个姓名登记学生，并回填 student_id
+     */
+    private void backfillStudents() {
+        int students = jdbcTemplate.update("INSERT INTO students (name) "
+                + "SELECT DISTINCT a.student_name FROM assessments a "
+                + "WHERE NOT EXISTS (SELECT 1 FROM students s WHERE s.name = a.student_name)");
+        int assessments = jdbcTemplate.update("UPDATE assessments a "
+                + "SET student_id = (SELECT s.id FROM students s WHERE s.name = a.student_name) "
+                + "WHERE a.student_id IS NULL");
+        if (students > 0 || assessments > 0) {
+            System.out.println("评估系统: 登记学生 " + students + " 名，回填评估记录 " + assessments + " 条");
+        }
+    }
+
+    /**
+     * 删除已被 (student_id, assessment_date) 索引取代的索引
+     */
+    private void dropObsoleteIndexes() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_assessments_student_name");
+    }
+}
@@ -1,17 +1,29 @@
 package com.assessment.controller;
 
+import com.assessment.dto.AssessmentPage;
 import com.assessment.dto.AssessmentStatistics;
+import com.assessment.dto.TrendGranularity;
 import com.assessment.entity.Assessment;
+import com.assessment.importer.ImportJob;
 import com.assessment.service.AssessmentService;
-import com.assessment.service.ReportService;
+import com.assessment.service.ImportJobService;
+import com.assessment.service.ReportCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -31,7 +43,13 @@ public class AssessmentController {
     private AssessmentService assessmentService;
     
     @Autowired
-    private ReportService reportService;
+    private ReportCache reportCache;
+    
+    @Autowired
+    private ImportJobService importJobService;
+    
+    @Value("${spring.servlet.multipart.max-file-size:10MB}")
+    private DataSize maxImportFileSize;
     
     /**
      * 获取所有评估数据
@@ -47,6 +65,63 @@ public class AssessmentController {
         }
     }
     
+    /**
+     * 按日期窗口获取评估记录（键集分页）
+     * from/to: 日期窗口（含两端，ISO 日期，可留空表示不限）；cursor/size/sort: 同 /page；
+     * aggregates=true 时在同一响应中附带窗口内的统计数据，granularity 指定其趋势分组粒度
+     */
+    @GetMapping(params = {"from", "to"})
+    public ResponseEntity<AssessmentPage> getAssessmentsInRange(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "asc") String sort,
+            @RequestParam(defaultValue = "false") boolean aggregates,
+            @RequestParam(required = false) String granularity) {
+        try {
+            TrendGranularity trendGranularity = aggregates ? TrendGranularity.fromParam(granularity) : null;
+            AssessmentPage page = assessmentService.getAssessmentPage(from, to, cursor, size,
+                    "desc".equalsIgnoreCase(sort), trendGranularity);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * 键集分页获取评估记录
+     * cursor: 上一页返回的 nextCursor；size: 每页条数；sort: asc/desc，按 (评估日期, id) 排序
+     */
+    @GetMapping("/page")
+    public ResponseEntity<AssessmentPage> getAssessmentPage(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size,
+                                                            @RequestParam(defaultValue = "asc") String sort) {
+        try {
+            AssessmentPage page = assessmentService.getAssessmentPage(cursor, size, "desc".equalsIgnoreCase(sort));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * 以 NDJSON 流式导出全部评估记录
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportAssessments() {
+        StreamingResponseBody body = assessmentService::exportAsNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
     /**
      * 根据ID获取评估记录
      */
@@ -133,22 +208,14 @@ public class AssessmentController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            Assessment existingAssessment = assessmentService.getAssessmentById(id);
-            if (existingAssessment == null) {
+            // 在同一事务中加载、更新并记录变更前的快照
+            Assessment updatedAssessment = assessmentService.updateAssessment(id, assessment);
+            if (updatedAssessment == null) {
                 response.put("success", false);
                 response.put("message", "评估记录不存在");
                 return ResponseEntity.notFound().build();
             }
             
-            // 更新字段
-            existingAssessment.setStudentName(assessment.getStudentName());
-            existingAssessment.setDisciplineScore(assessment.getDisciplineScore());
-            existingAssessment.setSkillCompletionRate(assessment.getSkillCompletionRate());
-            existingAssessment.setTasksCompleted(assessment.getTasksCompleted());
-            existingAssessment.setTotalTasks(assessment.getTotalTasks());
-            
-            Assessment updatedAssessment = assessmentService.saveAssessment(existingAssessment);
-            
             response.put("success", true);
             response.put("message", "评估记录更新成功");
             response.put("data", updatedAssessment);
@@ -223,11 +290,22 @@ public class AssessmentController {
     
     /**
      * 获取统计数据
+     * granularity: 趋势分组粒度 day/week/month（默认 day）；from/to: 可选的日期窗口（含两端）
      */
     @GetMapping("/statistics")
-    public ResponseEntity<AssessmentStatistics> getStatistics() {
+    public ResponseEntity<AssessmentStatistics> getStatistics(
+            @RequestParam(required = false) String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        TrendGranularity trendGranularity;
+        try {
+            trendGranularity = TrendGranularity.fromParam(granularity);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
         try {
-            AssessmentStatistics stats = assessmentService.getStatistics();
+            AssessmentStatistics stats = assessmentService.getStatistics(trendGranularity, from, to);
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             e.printStackTrace();
@@ -242,7 +320,20 @@ public class AssessmentController {
     }
     
     /**
-     * Excel文件导入
+     * 从数据库重建统计聚合（数据恢复用）
+     */
+    @PostMapping("/statistics/rebuild")
+    public ResponseEntity<AssessmentStatistics> rebuildStatistics() {
+        try {
+            return ResponseEntity.ok(assessmentService.rebuildStatistics());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Excel文件导入（异步），返回任务 ID
      */
     @PostMapping("/import")
     public ResponseEntity<Map<String, Object>> importExcel(@RequestParam("file") MultipartFile file) {
@@ -263,22 +354,27 @@ public class AssessmentController {
                 return ResponseEntity.badRequest().body(response);
             }
             
-            // 文件大小检查（限制10MB）
-            if (file.getSize() > 10 * 1024 * 1024) {
+            // 文件大小检查（与 multipart 上传上限一致）
+            if (file.getSize() > maxImportFileSize.toBytes()) {
                 response.put("success", false);
-                response.put("message", "文件大小不能超过10MB");
+                response.put("message", "文件大小不能超过" + maxImportFileSize.toMegabytes() + "MB");
                 return ResponseEntity.badRequest().body(response);
             }
             
-            // 导入数据
-            List<Assessment> assessments = assessmentService.importFromExcel(file);
+            // 提交后台导入任务，通过 GET /import/{id} 查询进度
+            ImportJob job = importJobService.submit(file);
             
             response.put("success", true);
-            response.put("message", "成功导入 " + assessments.size() + " 条记录");
-            response.put("count", assessments.size());
-            response.put("data", assessments);
+            response.put("message", "导入任务已提交");
+            response.put("jobId", job.getId());
+            response.put("data", job);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+            
+        } catch (TaskRejectedException e) {
+            response.put("success", false);
+            response.put("message", "导入任务过多，请稍后再试");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
             
         } catch (Exception e) {
             e.printStackTrace();
@@ -288,6 +384,45 @@ public class AssessmentController {
         }
     }
     
+    /**
+     * 查询导入任务进度：已解析、已写入、已拒绝行数，当前吞吐量及行错误
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable String jobId) {
+        ImportJob job = importJobService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job);
+    }
+    
+    /**
+     * 查询最近的导入任务
+     */
+    @GetMapping("/import")
+    public ResponseEntity<List<ImportJob>> getImportJobs() {
+        return ResponseEntity.ok(importJobService.getJobs());
+    }
+    
+    /**
+     * 取消导入任务（已写入的分块保留）
+     */
+    @DeleteMapping("/import/{jobId}")
+    public ResponseEntity<Map<String, Object>> cancelImportJob(@PathVariable String jobId) {
+        Map<String, Object> response = new HashMap<>();
+        ImportJob job = importJobService.cancel(jobId);
+        if (job == null) {
+            response.put("success", false);
+            response.put("message", "导入任务不存在");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        
+        response.put("success", true);
+        response.put("message", job.getStatus().isFinished() ? "导入任务已结束" : "已请求取消导入任务");
+        response.put("data", job);
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * 获取优秀学生列表
      */
@@ -304,28 +439,35 @@ public class AssessmentController {
     
     /**
      * PDF报告生成和下载
+     * 报告直接写入响应流；数据未变化时返回缓存的报告，请求带有匹配的 If-None-Match 时返回 304
      */
     @GetMapping("/report/pdf")
-    public ResponseEntity<byte[]> generatePDFReport() {
-        try {
-            byte[] pdfBytes = reportService.generatePDFReport();
-            
-            // 设置响应头
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", 
-                "assessment_report_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".pdf");
-            headers.setContentLength(pdfBytes.length);
-            
-            return ResponseEntity.ok()
-                .headers(headers)
-                .body(pdfBytes);
-                
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(("PDF生成失败: " + e.getMessage()).getBytes());
+    public ResponseEntity<StreamingResponseBody> generatePDFReport(WebRequest request) {
+        String etag = "\"" + reportCache.currentTag() + "\"";
+        // checkNotModified 同时会在响应中写入 ETag 头
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
         }
+        
+        // 设置响应头
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", 
+            "assessment_report_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".pdf");
+        headers.setCacheControl(CacheControl.noCache());
+        
+        StreamingResponseBody body = outputStream -> {
+            try {
+                reportCache.writeReport(outputStream);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("PDF生成失败: " + e.getMessage(), e);
+            }
+        };
+        return ResponseEntity.ok()
+            .headers(headers)
+            .body(body);
     }
     
     /**
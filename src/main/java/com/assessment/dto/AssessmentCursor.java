@@ -0,0 +1,49 @@
+package com.assessment.dto;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 分页游标：按 (assessment_date, id) 定位上一页的最后一条记录
+ * 保存路径: src/main/java/com/assessment/dto/AssessmentCursor.java
+ *
+ * 字符串形式为 "yyyy-MM-dd_id"，例如 "2024-03-01_1024"。
+ */
+public class AssessmentCursor {
+    private final LocalDate date;
+    private final Long id;
+
+    public AssessmentCursor(LocalDate date, Long id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    /**
+     * 解析游标字符串，格式错误时抛出 IllegalArgumentException
+     */
+    public static AssessmentCursor parse(String value) {
+        int separator = value != null ? value.lastIndexOf('_') : -1;
+        if (separator <= 0) {
+            throw new IllegalArgumentException("无效的分页游标: " + value);
+        }
+        try {
+            return new AssessmentCursor(LocalDate.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + value);
+        }
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return date + "_" + id;
+    }
+}
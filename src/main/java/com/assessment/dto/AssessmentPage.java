@@ -0,0 +1,68 @@
+package com.assessment.dto;
+
+import com.assessment.entity.Assessment;
+
+import java.util.List;
+
+/**
+ * 键集分页结果
+ * 保存路径: src/main/java/com/assessment/dto/AssessmentPage.java
+ */
+public class AssessmentPage {
+    private List<Assessment> items;
+    // 下一页游标，没有更多数据时为 null
+    private String nextCursor;
+    private boolean hasMore;
+    // 请求附带统计时为窗口内的统计数据（与分页游标无关，覆盖整个窗口），否则为 null
+    private AssessmentStatistics statistics;
+
+    public AssessmentPage() {}
+
+    public AssessmentPage(List<Assessment> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<Assessment> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Assessment> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public AssessmentStatistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(AssessmentStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public String toString() {
+        return "AssessmentPage{" +
+                "items=" + (items != null ? items.size() : 0) +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", hasMore=" + hasMore +
+                ", statistics=" + (statistics != null) +
+                '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.assessment.dto;
+
+/**
+ * 学生姓名及其评估记录数投影（数据库端 GROUP BY 结果）
+ * 保存路径: src/main/java/com/assessment/dto/StudentNameCount.java
+ */
+public interface StudentNameCount {
+
+    String getName();
+
+    Long getCount();
+}
@@ -0,0 +1,22 @@
+package com.assessment.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 按日/周/月分组的汇总投影（数据库端 GROUP BY 结果），bucket 为分组的起始日期
+ * 保存路径: src/main/java/com/assessment/dto/TrendBucket.java
+ *
+ * 返回的是求和值而非平均值，便于在内存中继续合并。
+ */
+public interface TrendBucket {
+
+    LocalDate getBucket();
+
+    Long getCount();
+
+    Long getDisciplineSum();
+
+    Double getSkillSum();
+
+    Double getTaskRateSum();
+}
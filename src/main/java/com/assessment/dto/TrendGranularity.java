@@ -0,0 +1,22 @@
+package com.assessment.dto;
+
+/**
+ * 趋势数据的分组粒度
+ * 保存路径: src/main/java/com/assessment/dto/TrendGranularity.java
+ */
+public enum TrendGranularity {
+    DAY,
+    // ISO 周，以周一为起始
+    WEEK,
+    MONTH;
+
+    /**
+     * 解析请求参数（不区分大小写），为空时按天分组
+     */
+    public static TrendGranularity fromParam(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return DAY;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -9,15 +9,29 @@ import com.fasterxml.jackson.annotation.JsonFormat;
  * 保存路径: src/main/java/com/assessment/entity/Assessment.java
  */
 @Entity
-@Table(name = "assessments")
+@Table(name = "assessments", indexes = {
+    // 单个学生的历史记录按日期范围扫描，无需排序
+    @Index(name = "idx_assessments_student_date", columnList = "student_id, assessment_date"),
+    // 日期窗口查询及按日期排序
+    @Index(name = "idx_assessments_date", columnList = "assessment_date")
+})
 public class Assessment {
+    // 序列号段大小：pooled 优化器每次从序列取一段 ID，插入可以按 JDBC 批量执行
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assessment_seq")
+    @SequenceGenerator(name = "assessment_seq", sequenceName = "assessments_seq",
+                       allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, name = "student_name")
     private String studentName;
     
+    // 学生维度表 ID，由服务层按姓名设置
+    @Column(name = "student_id")
+    private Long studentId;
+    
     @Column(nullable = false, name = "assessment_date")
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate assessmentDate;
@@ -56,7 +70,21 @@ public class Assessment {
         if (totalTasks == null || totalTasks == 0) return 0.0;
         return (double) tasksCompleted / totalTasks * 100;
     }
-    
+
+    // 复制当前字段值（用于变更事件中的快照，避免后续修改影响统计）
+    public Assessment copy() {
+        Assessment copy = new Assessment();
+        copy.id = this.id;
+        copy.studentName = this.studentName;
+        copy.studentId = this.studentId;
+        copy.assessmentDate = this.assessmentDate;
+        copy.disciplineScore = this.disciplineScore;
+        copy.skillCompletionRate = this.skillCompletionRate;
+        copy.tasksCompleted = this.tasksCompleted;
+        copy.totalTasks = this.totalTasks;
+        return copy;
+    }
+
     // Getter和Setter方法
     public Long getId() {
         return id;
@@ -74,6 +102,14 @@ public class Assessment {
         this.studentName = studentName;
     }
     
+    public Long getStudentId() {
+        return studentId;
+    }
+    
+    public void setStudentId(Long studentId) {
+        this.studentId = studentId;
+    }
+    
     public LocalDate getAssessmentDate() {
         return assessmentDate;
     }
@@ -119,6 +155,7 @@ public class Assessment {
         return "Assessment{" +
                 "id=" + id +
                 ", studentName='" + studentName + '\'' +
+                ", studentId=" + studentId +
                 ", assessmentDate=" + assessmentDate +
                 ", disciplineScore=" + disciplineScore +
                 ", skillCompletionRate=" + skillCompletionRate +
@@ -0,0 +1,51 @@
+package com.assessment.entity;
+
+import javax.persistence.*;
+
+/**
+ * 学生维度表实体，每个学生姓名对应一个 ID
+ * 保存路径: src/main/java/com/assessment/entity/Student.java
+ */
+@Entity
+@Table(name = "students")
+public class Student {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    // 无参构造函数
+    public Student() {}
+
+    public Student(String name) {
+        this.name = name;
+    }
+
+    // Getter和Setter方法
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return "Student{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                '}';
+    }
+}
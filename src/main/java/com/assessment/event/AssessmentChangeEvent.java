@@ -0,0 +1,52 @@
+package com.assessment.event;
+
+import com.assessment.entity.Assessment;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 评估数据变更事件
+ * 保存路径: src/main/java/com/assessment/event/AssessmentChangeEvent.java
+ *
+ * 更新视为"移除旧值 + 新增新值"，监听方只需先减后加即可维护增量结果。
+ * 事件在事务提交后分发（见各 @TransactionalEventListener）。
+ */
+public class AssessmentChangeEvent {
+
+    private final List<Assessment> removed;
+    private final List<Assessment> added;
+
+    public AssessmentChangeEvent(List<Assessment> removed, List<Assessment> added) {
+        this.removed = removed != null ? removed : Collections.emptyList();
+        this.added = added != null ? added : Collections.emptyList();
+    }
+
+    public static AssessmentChangeEvent created(Assessment assessment) {
+        return new AssessmentChangeEvent(null, Collections.singletonList(assessment));
+    }
+
+    public static AssessmentChangeEvent updated(Assessment before, Assessment after) {
+        return new AssessmentChangeEvent(Collections.singletonList(before), Collections.singletonList(after));
+    }
+
+    public static AssessmentChangeEvent deleted(Assessment assessment) {
+        return new AssessmentChangeEvent(Collections.singletonList(assessment), null);
+    }
+
+    public static AssessmentChangeEvent imported(List<Assessment> assessments) {
+        return new AssessmentChangeEvent(null, assessments);
+    }
+
+    public List<Assessment> getRemoved() {
+        return removed;
+    }
+
+    public List<Assessment> getAdded() {
+        return added;
+    }
+
+    public boolean isEmpty() {
+        return removed.isEmpty() && added.isEmpty();
+    }
+}
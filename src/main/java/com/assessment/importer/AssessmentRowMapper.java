@@ -0,0 +1,115 @@
+package com.assessment.importer;
+
+import com.assessment.entity.Assessment;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 将 Excel 原始行转换为评估记录并校验
+ * 保存路径: src/main/java/com/assessment/importer/AssessmentRowMapper.java
+ *
+ * 无状态，可在多个线程中同时使用。
+ */
+public final class AssessmentRowMapper {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private AssessmentRowMapper() {}
+
+    /**
+     * 转换一行数据，学生姓名为空（空行）时返回 null
+     */
+    public static Assessment toAssessment(RawRow row) {
+        String studentName = getStringValue(row.getValue(0));
+        if (studentName.trim().isEmpty()) return null;
+
+        Assessment assessment = new Assessment();
+        assessment.setStudentName(studentName);
+        assessment.setAssessmentDate(getDateValue(row.getValue(1), row.isDate1904()));
+        assessment.setDisciplineScore((int) getNumericValue(row.getValue(2)));
+        assessment.setSkillCompletionRate(getNumericValue(row.getValue(3)));
+        assessment.setTasksCompleted((int) getNumericValue(row.getValue(4)));
+        assessment.setTotalTasks((int) getNumericValue(row.getValue(5)));
+        return assessment;
+    }
+
+    /**
+     * 验证评估数据有效性
+     */
+    public static boolean isValid(Assessment assessment) {
+        return validate(assessment) == null;
+    }
+
+    /**
+     * 验证评估数据，返回第一条错误信息；数据有效时返回 null
+     */
+    public static String validate(Assessment assessment) {
+        if (assessment.getStudentName() == null || assessment.getStudentName().trim().isEmpty()) {
+            return "学生姓名不能为空";
+        }
+        if (assessment.getAssessmentDate() == null) {
+            return "评估日期不能为空";
+        }
+        if (assessment.getDisciplineScore() == null
+                || assessment.getDisciplineScore() < 1 || assessment.getDisciplineScore() > 5) {
+            return "纪律遵守度必须在1-5分之间";
+        }
+        if (assessment.getSkillCompletionRate() == null
+                || assessment.getSkillCompletionRate() < 0 || assessment.getSkillCompletionRate() > 100) {
+            return "技能达标率必须在0-100%之间";
+        }
+        if (assessment.getTasksCompleted() == null || assessment.getTotalTasks() == null
+                || assessment.getTasksCompleted() < 0 || assessment.getTotalTasks() <= 0
+                || assessment.getTasksCompleted() > assessment.getTotalTasks()) {
+            return "任务完成数据无效";
+        }
+        return null;
+    }
+
+    /**
+     * 读取评估时间：数值按 Excel 日期换算，字符串按 yyyy-MM-dd 解析，失败时使用当前日期
+     */
+    private static LocalDate getDateValue(Object value, boolean date1904) {
+        try {
+            if (value instanceof Double) {
+                return DateUtil.getLocalDateTime((Double) value, date1904).toLocalDate();
+            }
+            if (value instanceof String) {
+                return LocalDate.parse(((String) value).trim(), DATE_FORMATTER);
+            }
+        } catch (Exception e) {
+            // 如果日期解析失败，使用当前日期
+        }
+        return LocalDate.now();
+    }
+
+    /**
+     * 获取字符串值
+     */
+    private static String getStringValue(Object value) {
+        if (value == null) return "";
+        if (value instanceof Double) {
+            return String.valueOf((int) (double) (Double) value);
+        }
+        return value.toString().trim();
+    }
+
+    /**
+     * 获取数值
+     */
+    private static double getNumericValue(Object value) {
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        if (value instanceof String) {
+            try {
+                return Double.parseDouble(((String) value).trim());
+            } catch (NumberFormatException e) {
+                return 0.0;
+            }
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,29 @@
+package com.assessment.importer;
+
+import org.apache.poi.poifs.filesystem.FileMagic;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Excel 行读取器
+ * 保存路径: src/main/java/com/assessment/importer/ExcelRowReader.java
+ */
+public interface ExcelRowReader {
+
+    /**
+     * 逐行读取第一个工作表（跳过标题行），每读到一行回调一次
+     */
+    void read(File file, Consumer<RawRow> consumer) throws IOException;
+
+    /**
+     * 按文件内容选择读取器：.xlsx 使用 SAX 流式读取，其他格式（.xls）回退到 WorkbookFactory
+     */
+    static ExcelRowReader forFile(File file) throws IOException {
+        if (FileMagic.valueOf(file) == FileMagic.OOXML) {
+            return new XlsxStreamingReader();
+        }
+        return new WorkbookRowReader();
+    }
+}
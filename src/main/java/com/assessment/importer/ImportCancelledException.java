@@ -0,0 +1,12 @@
+package com.assessment.importer;
+
+/**
+ * 导入任务被取消时由读取回调抛出，用于中止 SAX 解析或工作簿遍历
+ * 保存路径: src/main/java/com/assessment/importer/ImportCancelledException.java
+ */
+public class ImportCancelledException extends RuntimeException {
+
+    public ImportCancelledException() {
+        super("导入已取消");
+    }
+}
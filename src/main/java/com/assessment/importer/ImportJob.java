@@ -0,0 +1,162 @@
+package com.assessment.importer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 后台导入任务及其进度
+ * 保存路径: src/main/java/com/assessment/importer/ImportJob.java
+ *
+ * 由导入线程更新计数，由 GET /import/{id} 的请求线程读取，计数器和状态都是线程安全的。
+ * 行错误最多保留 maxErrors 条，超出部分只计入 rejected。
+ */
+public class ImportJob {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String fileName;
+    private final int maxErrors;
+
+    private volatile Status status = Status.PENDING;
+    private volatile boolean cancelRequested;
+    private volatile String message;
+
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<ImportRowError> errors = new ArrayList<>();
+
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long startNanos;
+    private volatile long finishNanos;
+
+    public ImportJob(String fileName, int maxErrors) {
+        this.fileName = fileName;
+        this.maxErrors = maxErrors;
+    }
+
+    // ---- 导入线程调用 ----
+
+    public void start() {
+        startNanos = System.nanoTime();
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    public void rowParsed() {
+        parsed.incrementAndGet();
+    }
+
+    public void rowsAccepted(int count) {
+        accepted.addAndGet(count);
+    }
+
+    public void rowRejected(int rowNumber, String reason) {
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowError(rowNumber, reason));
+            }
+        }
+    }
+
+    public void finish(Status finalStatus, String message) {
+        this.message = message;
+        finishNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    /**
+     * 取消请求是协作式的：导入线程在每行和每个分块写入前检查，已提交的分块会保留
+     */
+    public void requestCancel() {
+        cancelRequested = true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    // ---- 进度查询 ----
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getParsed() {
+        return parsed.get();
+    }
+
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public List<ImportRowError> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * 已运行时间（毫秒），任务结束后固定不变
+     */
+    public long getElapsedMillis() {
+        if (startNanos == 0) return 0;
+        long end = finishNanos != 0 ? finishNanos : System.nanoTime();
+        return (end - startNanos) / 1_000_000;
+    }
+
+    /**
+     * 当前吞吐量：每秒解析的行数
+     */
+    public double getRowsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? parsed.get() * 1000.0 / elapsed : 0.0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.assessment.importer;
+
+/**
+ * 导入时被拒绝的行及原因
+ * 保存路径: src/main/java/com/assessment/importer/ImportRowError.java
+ */
+public class ImportRowError {
+    // Excel 中显示的行号（从1开始）
+    private final int rowNumber;
+    private final String message;
+
+    public ImportRowError(int rowNumber, String message) {
+        this.rowNumber = rowNumber;
+        this.message = message;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportRowError{" +
+                "rowNumber=" + rowNumber +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package com.assessment.importer;
+
+/**
+ * Excel 原始行数据
+ * 保存路径: src/main/java/com/assessment/importer/RawRow.java
+ *
+ * 单元格值只做最基本的类型区分（String / Double / Boolean，空单元格为 null），
+ * 转换和校验由 AssessmentRowMapper 完成，以便读取与解析可以在不同线程中进行。
+ */
+public class RawRow {
+
+    // 导入模板的列数：姓名、评估日期、纪律遵守度、技能达标率、已完成任务、总任务数
+    public static final int COLUMNS = 6;
+
+    private final int rowNumber;
+    private final Object[] values;
+    private final boolean date1904;
+
+    public RawRow(int rowNumber, Object[] values, boolean date1904) {
+        this.rowNumber = rowNumber;
+        this.values = values;
+        this.date1904 = date1904;
+    }
+
+    /**
+     * Excel 中显示的行号（从1开始）
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public Object getValue(int column) {
+        return column < values.length ? values[column] : null;
+    }
+
+    /**
+     * 工作簿是否使用1904日期系统（影响数值型日期的换算）
+     */
+    public boolean isDate1904() {
+        return date1904;
+    }
+}
@@ -0,0 +1,57 @@
+package com.assessment.importer;
+
+import org.apache.poi.ss.usermodel.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * 基于 WorkbookFactory 的读取器，整个工作簿加载到内存
+ * 保存路径: src/main/java/com/assessment/importer/WorkbookRowReader.java
+ *
+ * 仅作为 .xls 等非 OOXML 格式的回退方案（.xls 最多 65536 行，内存可控）。
+ */
+public class WorkbookRowReader implements ExcelRowReader {
+
+    @Override
+    public void read(File file, Consumer<RawRow> consumer) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(file, null, true)) {
+            boolean date1904 = workbook instanceof Date1904Support && ((Date1904Support) workbook).isDate1904();
+            Sheet sheet = workbook.getSheetAt(0);
+
+            // 跳过标题行，从第二行开始读取
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                Row row = sheet.getRow(i);
+                if (row == null) continue;
+
+                Object[] values = new Object[RawRow.COLUMNS];
+                for (int column = 0; column < RawRow.COLUMNS; column++) {
+                    values[column] = getCellValue(row.getCell(column));
+                }
+                consumer.accept(new RawRow(i + 1, values, date1904));
+            }
+        }
+    }
+
+    /**
+     * 获取单元格原始值，公式单元格取缓存的计算结果
+     */
+    private Object getCellValue(Cell cell) {
+        if (cell == null) return null;
+
+        CellType type = cell.getCellType() == CellType.FORMULA
+                ? cell.getCachedFormulaResultType()
+                : cell.getCellType();
+        switch (type) {
+            case STRING:
+                return cell.getStringCellValue();
+            case NUMERIC:
+                return cell.getNumericCellValue();
+            case BOOLEAN:
+                return cell.getBooleanCellValue();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.assessment.importer;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * .xlsx 流式读取器（XSSF 事件模型）
+ * 保存路径: src/main/java/com/assessment/importer/XlsxStreamingReader.java
+ *
+ * 直接用 SAX 解析工作表 XML，边读边回调，不构建 XSSFWorkbook，
+ * 内存占用只与共享字符串表和单行数据有关，与总行数无关。
+ */
+public class XlsxStreamingReader implements ExcelRowReader {
+
+    @Override
+    public void read(File file, Consumer<RawRow> consumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            boolean date1904 = isDate1904(reader);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) return;
+
+            // 只读取第一个工作表
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new SheetHandler(sharedStrings, date1904, consumer));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("无法解析Excel文件: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 读取 workbook.xml 中的 workbookPr/@date1904
+     */
+    private boolean isDate1904(XSSFReader reader) throws IOException, OpenXML4JException,
+            SAXException, ParserConfigurationException {
+        boolean[] date1904 = {false};
+        try (InputStream workbook = reader.getWorkbookData()) {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String value = attributes.getValue("date1904");
+                        date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    }
+                }
+            });
+            parser.parse(new InputSource(workbook));
+        }
+        return date1904[0];
+    }
+
+    /**
+     * 工作表 XML 处理器：&lt;row&gt; 内的 &lt;c&gt; 单元格按 t 属性转换为原始值
+     */
+    private static class SheetHandler extends DefaultHandler {
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final boolean date1904;
+        private final Consumer<RawRow> consumer;
+
+        private final StringBuilder text = new StringBuilder();
+        private Object[] values;
+        private int rowIndex = -1;
+        private int column;
+        private String cellType;
+        private boolean collecting;
+        private boolean inInlineString;
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, boolean date1904, Consumer<RawRow> consumer) {
+            this.sharedStrings = sharedStrings;
+            this.date1904 = date1904;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String r = attributes.getValue("r");
+                    rowIndex = r != null ? Integer.parseInt(r) - 1 : rowIndex + 1;
+                    values = new Object[RawRow.COLUMNS];
+                    column = -1;
+                    break;
+                case "c":
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? new CellReference(ref).getCol() : column + 1;
+                    cellType = attributes.getValue("t");
+                    text.setLength(0);
+                    break;
+                case "is":
+                    inInlineString = true;
+                    break;
+                case "v":
+                    text.setLength(0);
+                    collecting = true;
+                    break;
+                case "t":
+                    // 内联字符串（含富文本片段）的文本
+                    if (inInlineString) collecting = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    collecting = false;
+                    break;
+                case "is":
+                    inInlineString = false;
+                    break;
+                case "c":
+                    if (column >= 0 && column < RawRow.COLUMNS) {
+                        values[column] = toValue(cellType, text.toString());
+                    }
+                    break;
+                case "row":
+                    // 跳过标题行
+                    if (rowIndex >= 1) {
+                        consumer.accept(new RawRow(rowIndex + 1, values, date1904));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private Object toValue(String type, String raw) {
+            if (raw.isEmpty()) return null;
+            if (type == null || "n".equals(type)) {
+                try {
+                    return Double.parseDouble(raw);
+                } catch (NumberFormatException e) {
+                    return raw;
+                }
+            }
+            switch (type) {
+                case "s":
+                    return sharedStrings.getItemAt(Integer.parseInt(raw)).getString();
+                case "b":
+                    return "1".equals(raw);
+                case "e":
+                    return null;
+                default:
+                    // inlineStr、str（公式字符串结果）等
+                    return raw;
+            }
+        }
+    }
+}
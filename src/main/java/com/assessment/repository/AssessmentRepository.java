@@ -1,13 +1,22 @@
 package com.assessment.repository;
 
+import com.assessment.dto.StudentNameCount;
+import com.assessment.dto.TrendBucket;
 import com.assessment.entity.Assessment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 /**
  * 评估数据访问层
@@ -17,9 +26,23 @@ import java.util.List;
 public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
     
     /**
-     * 根据学生姓名查找评估记录，按日期升序排列
+     * 未指定日期窗口时使用的查询边界
+     */
+    LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    
+    /**
+     * 分组汇总查询共用的聚合列（求和而非平均，便于继续合并）
      */
-    List<Assessment> findByStudentNameOrderByAssessmentDateAsc(String studentName);
+    String BUCKET_SUMS = "COUNT(*) AS count, SUM(discipline_score) AS disciplineSum, " +
+            "SUM(skill_completion_rate) AS skillSum, " +
+            "CAST(SUM(tasks_completed * 100.0 / total_tasks) AS DOUBLE PRECISION) AS taskRateSum " +
+            "FROM assessments ";
+    
+    /**
+     * 根据学生ID查找评估记录，按日期升序排列（走 (student_id, assessment_date) 索引，无需排序）
+     */
+    List<Assessment> findByStudentIdOrderByAssessmentDateAsc(Long studentId);
     
     /**
      * 根据学生姓名模糊搜索
@@ -27,11 +50,23 @@ public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
     List<Assessment> findByStudentNameContainingIgnoreCase(String studentName);
     
     /**
-     * 根据日期范围查询评估记录
+     * 按学生ID查找（走 (student_id, assessment_date) 索引），配合 StudentNameIndex 解析出的候选姓名使用
+     */
+    List<Assessment> findByStudentIdIn(Collection<Long> studentIds);
+    
+    /**
+     * 各学生姓名的记录数（用于建立姓名索引）
+     */
+    @Query("SELECT a.studentName AS name, COUNT(a) AS count FROM Assessment a GROUP BY a.studentName")
+    List<StudentNameCount> countByStudentName();
+    
+    /**
+     * 根据日期范围查询评估记录，日期闭区间 [startDate, endDate]（走 assessment_date 索引）
      */
-    @Query("SELECT a FROM Assessment a WHERE a.assessmentDate BETWEEN :startDate AND :endDate")
-    List<Assessment> findByDateRange(@Param("startDate") LocalDateTime startDate, 
-                                   @Param("endDate") LocalDateTime endDate);
+    @Query("SELECT a FROM Assessment a WHERE a.assessmentDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY a.assessmentDate ASC, a.id ASC")
+    List<Assessment> findByDateRange(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
     
     /**
      * 计算平均纪律遵守度
@@ -51,6 +86,33 @@ public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
     @Query("SELECT AVG(a.tasksCompleted * 100.0 / a.totalTasks) FROM Assessment a")
     Double getAverageTaskCompletionRate();
     
+    /**
+     * 按天分组汇总（不加载实体），日期闭区间 [startDate, endDate]
+     */
+    @Query(value = "SELECT assessment_date AS bucket, " + BUCKET_SUMS +
+                   "WHERE assessment_date BETWEEN :startDate AND :endDate " +
+                   "GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<TrendBucket> sumByDay(@Param("startDate") LocalDate startDate,
+                               @Param("endDate") LocalDate endDate);
+    
+    /**
+     * 按 ISO 周分组汇总，bucket 为该周周一
+     */
+    @Query(value = "SELECT DATE_TRUNC('ISO_WEEK', assessment_date) AS bucket, " + BUCKET_SUMS +
+                   "WHERE assessment_date BETWEEN :startDate AND :endDate " +
+                   "GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<TrendBucket> sumByWeek(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate);
+    
+    /**
+     * 按月分组汇总，bucket 为该月第一天
+     */
+    @Query(value = "SELECT DATE_TRUNC('MONTH', assessment_date) AS bucket, " + BUCKET_SUMS +
+                   "WHERE assessment_date BETWEEN :startDate AND :endDate " +
+                   "GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<TrendBucket> sumByMonth(@Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate);
+    
     /**
      * 获取最近的评估记录
      */
@@ -66,4 +128,63 @@ public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
      * 根据技能达标率范围查询
      */
     List<Assessment> findBySkillCompletionRateBetween(Double minRate, Double maxRate);
-}
\ No newline at end of file
+    
+    /**
+     * 键集分页：第一页，按 (评估日期, id) 升序
+     */
+    @Query("SELECT a FROM Assessment a ORDER BY a.assessmentDate ASC, a.id ASC")
+    List<Assessment> findFirstPageAsc(Pageable pageable);
+    
+    /**
+     * 键集分页：游标之后的一页，按 (评估日期, id) 升序
+     */
+    @Query("SELECT a FROM Assessment a WHERE a.assessmentDate > :date " +
+           "OR (a.assessmentDate = :date AND a.id > :id) " +
+           "ORDER BY a.assessmentDate ASC, a.id ASC")
+    List<Assessment> findPageAfterAsc(@Param("date") LocalDate date, @Param("id") Long id, Pageable pageable);
+    
+    /**
+     * 日期窗口内的键集分页：第一页，按 (评估日期, id) 升序，日期闭区间 [startDate, endDate]
+     */
+    @Query("SELECT a FROM Assessment a WHERE a.assessmentDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY a.assessmentDate ASC, a.id ASC")
+    List<Assessment> findFirstPageInRangeAsc(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate, Pageable pageable);
+    
+    /**
+     * 日期窗口内的键集分页：游标之后的一页，按 (评估日期, id) 升序
+     */
+    @Query("SELECT a FROM Assessment a WHERE a.assessmentDate BETWEEN :startDate AND :endDate " +
+           "AND (a.assessmentDate > :date OR (a.assessmentDate = :date AND a.id > :id)) " +
+           "ORDER BY a.assessmentDate ASC, a.id ASC")
+    List<Assessment> findPageAfterInRangeAsc(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate,
+                                             @Param("date") LocalDate date, @Param("id") Long id,
+                                             Pageable pageable);
+    
+    /**
+     * 日期窗口内的键集分页：第一页，按 (评估日期, id) 降序
+     */
+    @Query("SELECT a FROM Assessment a WHERE a.assessmentDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY a.assessmentDate DESC, a.id DESC")
+    List<Assessment> findFirstPageInRangeDesc(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate, Pageable pageable);
+    
+    /**
+     * 日期窗口内的键集分页：游标之后的一页，按 (评估日期, id) 降序
+     */
+    @Query("SELECT a FROM Assessment a WHERE a.assessmentDate BETWEEN :startDate AND :endDate " +
+           "AND (a.assessmentDate < :date OR (a.assessmentDate = :date AND a.id < :id)) " +
+           "ORDER BY a.assessmentDate DESC, a.id DESC")
+    List<Assessment> findPageAfterInRangeDesc(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate,
+                                              @Param("date") LocalDate date, @Param("id") Long id,
+                                              Pageable pageable);
+    
+    /**
+     * 流式读取全部记录（需在事务内使用并关闭 Stream）
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Assessment a ORDER BY a.assessmentDate ASC, a.id ASC")
+    Stream<Assessment> streamAll();
+}
@@ -0,0 +1,20 @@
+package com.assessment.repository;
+
+import com.assessment.entity.Student;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 学生维度表数据访问层
+ * 保存路径: src/main/java/com/assessment/repository/StudentRepository.java
+ */
+@Repository
+public interface StudentRepository extends JpaRepository<Student, Long> {
+
+    /**
+     * 根据姓名查找学生
+     */
+    Optional<Student> findByName(String name);
+}
@@ -0,0 +1,97 @@
+package com.assessment.service;
+
+import com.assessment.entity.Assessment;
+import com.assessment.event.AssessmentChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 批量写入评估记录
+ * 保存路径: src/main/java/com/assessment/service/AssessmentBatchWriter.java
+ *
+ * 每次调用在独立事务中写入一个分块。导入的行都是新记录，不需要脏检查和一级缓存，
+ * 因此绕过持久化上下文，直接用一条 JDBC 批量语句插入整个分块。
+ * ID 与实体映射共用 assessments_seq 的号段（pooled 语义），和 JPA 写入的记录不会冲突。
+ */
+@Component
+public class AssessmentBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO assessments "
+            + "(id, student_name, student_id, assessment_date, discipline_score, skill_completion_rate, tasks_completed, total_tasks) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentDirectory studentDirectory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 在一个事务中插入一批新记录（会回填 ID），提交后发布变更事件
+     */
+    @Transactional
+    public void insert(List<Assessment> assessments) {
+        if (assessments.isEmpty()) return;
+        assignIds(assessments);
+        for (Assessment assessment : assessments) {
+            assessment.setStudentId(studentDirectory.idFor(assessment.getStudentName()));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Assessment assessment = assessments.get(i);
+                ps.setLong(1, assessment.getId());
+                ps.setString(2, assessment.getStudentName());
+                ps.setLong(3, assessment.getStudentId());
+                ps.setDate(4, Date.valueOf(assessment.getAssessmentDate()));
+                ps.setInt(5, assessment.getDisciplineScore());
+                ps.setDouble(6, assessment.getSkillCompletionRate());
+                ps.setInt(7, assessment.getTasksCompleted());
+                ps.setInt(8, assessment.getTotalTasks());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return assessments.size();
+            }
+        });
+        eventPublisher.publishEvent(AssessmentChangeEvent.imported(assessments));
+    }
+
+    /**
+     * 每次从序列取一个值 v，使用号段 [v - allocationSize + 1, v]，与 Hibernate pooled 优化器一致
+     */
+    private void assignIds(List<Assessment> assessments) {
+        int blockSize = Assessment.ID_ALLOCATION_SIZE;
+        long next = 0;
+        long hi = -1;
+        for (Assessment assessment : assessments) {
+            if (next > hi) {
+                hi = nextSequenceValue();
+                // 序列起始的前几个值被 pooled 优化器用作首个号段，跳过以免重叠
+                while (hi < blockSize) {
+                    hi = nextSequenceValue();
+                }
+                next = hi - blockSize + 1;
+            }
+            assessment.setId(next++);
+        }
+    }
+
+    private long nextSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR assessments_seq", Long.class);
+    }
+}
@@ -1,20 +1,36 @@
 package com.assessment.service;
 
+import com.assessment.dto.AssessmentCursor;
+import com.assessment.dto.AssessmentPage;
 import com.assessment.dto.AssessmentStatistics;
-import com.assessment.dto.TrendData;
+import com.assessment.dto.TrendBucket;
+import com.assessment.dto.TrendGranularity;
 import com.assessment.entity.Assessment;
+import com.assessment.event.AssessmentChangeEvent;
+import com.assessment.importer.ImportJob;
 import com.assessment.repository.AssessmentRepository;
-import org.apache.poi.ss.usermodel.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * 评估业务逻辑服务类
@@ -27,6 +43,33 @@ public class AssessmentService {
     @Autowired
     private AssessmentRepository assessmentRepository;
 
+    @Autowired
+    private StatisticsAggregate statisticsAggregate;
+
+    @Autowired
+    private StudentNameIndex studentNameIndex;
+
+    @Autowired
+    private StudentDirectory studentDirectory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ExcelImportPipeline excelImportPipeline;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${assessment.page.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${assessment.page.max-size:1000}")
+    private int maxPageSize;
+
     /**
      * 保存评估记录
      */
@@ -34,7 +77,37 @@ public class AssessmentService {
         if (assessment.getAssessmentDate() == null) {
             assessment.setAssessmentDate(LocalDate.now());
         }
-        return assessmentRepository.save(assessment);
+        assessment.setStudentId(studentDirectory.idFor(assessment.getStudentName()));
+        Assessment before = assessment.getId() != null
+                ? assessmentRepository.findById(assessment.getId()).map(Assessment::copy).orElse(null)
+                : null;
+        Assessment saved = assessmentRepository.save(assessment);
+        eventPublisher.publishEvent(before == null
+                ? AssessmentChangeEvent.created(saved.copy())
+                : AssessmentChangeEvent.updated(before, saved.copy()));
+        return saved;
+    }
+
+    /**
+     * 更新评估记录，记录不存在时返回null
+     */
+    public Assessment updateAssessment(Long id, Assessment changes) {
+        Assessment existing = assessmentRepository.findById(id).orElse(null);
+        if (existing == null) {
+            return null;
+        }
+        Assessment before = existing.copy();
+
+        existing.setStudentName(changes.getStudentName());
+        existing.setStudentId(studentDirectory.idFor(changes.getStudentName()));
+        existing.setDisciplineScore(changes.getDisciplineScore());
+        existing.setSkillCompletionRate(changes.getSkillCompletionRate());
+        existing.setTasksCompleted(changes.getTasksCompleted());
+        existing.setTotalTasks(changes.getTotalTasks());
+
+        Assessment saved = assessmentRepository.save(existing);
+        eventPublisher.publishEvent(AssessmentChangeEvent.updated(before, saved.copy()));
+        return saved;
     }
 
     /**
@@ -44,6 +117,89 @@ public class AssessmentService {
         return assessmentRepository.findAll();
     }
 
+    /**
+     * 键集分页获取评估记录，按 (评估日期, id) 排序
+     *
+     * @param cursor     上一页返回的游标，为空时从第一页开始
+     * @param size       每页条数，为空时使用默认值，超过上限时截断
+     * @param descending 是否降序
+     */
+    public AssessmentPage getAssessmentPage(String cursor, Integer size, boolean descending) {
+        return getAssessmentPage(null, null, cursor, size, descending, null);
+    }
+
+    /**
+     * 按日期窗口键集分页获取评估记录，按 (评估日期, id) 排序
+     *
+     * @param startDate   窗口起始日期（含），为空时不限
+     * @param endDate     窗口结束日期（含），为空时不限
+     * @param cursor      上一页返回的游标，为空时从第一页开始
+     * @param size        每页条数，为空时使用默认值，超过上限时截断
+     * @param descending  是否降序
+     * @param granularity 不为空时在同一次请求中附带该窗口的统计数据（按此粒度分组趋势）
+     */
+    @Transactional(readOnly = true)
+    public AssessmentPage getAssessmentPage(LocalDate startDate, LocalDate endDate, String cursor, Integer size,
+                                            boolean descending, TrendGranularity granularity) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("起始日期不能晚于结束日期");
+        }
+        LocalDate from = startDate != null ? startDate : AssessmentRepository.MIN_DATE;
+        LocalDate to = endDate != null ? endDate : AssessmentRepository.MAX_DATE;
+        int pageSize = Math.max(1, Math.min(size != null ? size : defaultPageSize, maxPageSize));
+        // 多取一条用于判断是否还有下一页
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Assessment> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = descending
+                    ? assessmentRepository.findFirstPageInRangeDesc(from, to, limit)
+                    : assessmentRepository.findFirstPageInRangeAsc(from, to, limit);
+        } else {
+            AssessmentCursor after = AssessmentCursor.parse(cursor);
+            rows = descending
+                    ? assessmentRepository.findPageAfterInRangeDesc(from, to, after.getDate(), after.getId(), limit)
+                    : assessmentRepository.findPageAfterInRangeAsc(from, to, after.getDate(), after.getId(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Assessment> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Assessment last = items.get(items.size() - 1);
+            nextCursor = new AssessmentCursor(last.getAssessmentDate(), last.getId()).toString();
+        }
+        AssessmentPage page = new AssessmentPage(items, nextCursor, hasMore);
+        if (granularity != null) {
+            page.setStatistics(getStatistics(granularity, startDate, endDate));
+        }
+        return page;
+    }
+
+    /**
+     * 以 NDJSON（每行一个 JSON 对象）格式导出全部评估记录
+     * 通过 JPA Stream 逐行读取，写出后立即从持久化上下文中分离，内存占用与总行数无关
+     */
+    @Transactional(readOnly = true)
+    public void exportAsNdjson(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Assessment.class);
+        OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+        try (Stream<Assessment> stream = assessmentRepository.streamAll()) {
+            stream.forEach(assessment -> {
+                try {
+                    out.write(writer.writeValueAsBytes(assessment));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(assessment);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
     /**
      * 根据ID获取评估记录
      */
@@ -55,225 +211,136 @@ public class AssessmentService {
      * 根据学生姓名获取评估记录
      */
     public List<Assessment> getAssessmentsByStudent(String studentName) {
-        return assessmentRepository.findByStudentNameOrderByAssessmentDateAsc(studentName);
+        Long studentId = studentDirectory.findId(studentName);
+        if (studentId == null) {
+            return new ArrayList<>();
+        }
+        return assessmentRepository.findByStudentIdOrderByAssessmentDateAsc(studentId);
     }
 
     /**
      * 搜索学生评估记录
+     * 先通过内存中的姓名 n-gram 索引解析出匹配的姓名，再按学生ID走索引查询，避免 LIKE '%x%' 全表扫描
      */
     public List<Assessment> searchAssessmentsByStudentName(String keyword) {
-        return assessmentRepository.findByStudentNameContainingIgnoreCase(keyword);
+        if (keyword == null || keyword.isEmpty()) {
+            return assessmentRepository.findAll();
+        }
+        List<Long> studentIds = new ArrayList<>();
+        for (String name : studentNameIndex.search(keyword)) {
+            Long studentId = studentDirectory.findId(name);
+            if (studentId != null) {
+                studentIds.add(studentId);
+            }
+        }
+        if (studentIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return assessmentRepository.findByStudentIdIn(studentIds);
     }
 
     /**
      * 删除评估记录
      */
     public void deleteAssessment(Long id) {
-        assessmentRepository.deleteById(id);
+        assessmentRepository.findById(id).ifPresent(assessment -> {
+            Assessment removed = assessment.copy();
+            assessmentRepository.delete(assessment);
+            eventPublisher.publishEvent(AssessmentChangeEvent.deleted(removed));
+        });
     }
 
     /**
-     * 获取统计数据
+     * 获取统计数据（由增量聚合直接提供，不扫描数据表）
      */
     public AssessmentStatistics getStatistics() {
-        AssessmentStatistics stats = new AssessmentStatistics();
-
-        // 计算平均分，处理null值
-        Double avgDiscipline = assessmentRepository.getAverageDisciplineScore();
-        Double avgSkill = assessmentRepository.getAverageSkillCompletionRate();
-        Double avgTask = assessmentRepository.getAverageTaskCompletionRate();
-
-        stats.setAverageDisciplineScore(avgDiscipline != null ? avgDiscipline : 0.0);
-        stats.setAverageSkillCompletionRate(avgSkill != null ? avgSkill : 0.0);
-        stats.setAverageTaskCompletionRate(avgTask != null ? avgTask : 0.0);
-        stats.setTotalAssessments(assessmentRepository.count());
-
-        // 生成趋势数据
-        List<Assessment> allAssessments = assessmentRepository.findRecentAssessments();
-        if (!allAssessments.isEmpty()) {
-            stats.setDisciplineTrend(generateTrendData(allAssessments, "discipline"));
-            stats.setSkillTrend(generateTrendData(allAssessments, "skill"));
-            stats.setTaskTrend(generateTrendData(allAssessments, "task"));
-        } else {
-            // 如果没有数据，返回空列表
-            stats.setDisciplineTrend(new ArrayList<>());
-            stats.setSkillTrend(new ArrayList<>());
-            stats.setTaskTrend(new ArrayList<>());
-        }
-
-        return stats;
+        return statisticsAggregate.snapshot();
     }
 
     /**
-     * 生成趋势数据
+     * 按指定粒度和日期窗口获取统计数据
+     * 按天且不限日期时直接读取增量聚合，其余情况由数据库 GROUP BY 计算，内存占用只与分组数有关
      */
-    private List<TrendData> generateTrendData(List<Assessment> assessments, String type) {
-        if (assessments == null || assessments.isEmpty()) {
-            return new ArrayList<>();
+    public AssessmentStatistics getStatistics(TrendGranularity granularity, LocalDate startDate, LocalDate endDate) {
+        if (granularity == TrendGranularity.DAY && startDate == null && endDate == null) {
+            return getStatistics();
         }
 
-        Map<String, List<Double>> groupedData = new HashMap<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-        for (Assessment assessment : assessments) {
-            String dateKey = assessment.getAssessmentDate().format(formatter);
-            groupedData.computeIfAbsent(dateKey, k -> new ArrayList<>());
-
-            switch (type) {
-                case "discipline":
-                    groupedData.get(dateKey).add(assessment.getDisciplineScore().doubleValue());
-                    break;
-                case "skill":
-                    groupedData.get(dateKey).add(assessment.getSkillCompletionRate());
-                    break;
-                case "task":
-                    groupedData.get(dateKey).add(assessment.getTaskCompletionRate());
-                    break;
-            }
+        LocalDate from = startDate != null ? startDate : AssessmentRepository.MIN_DATE;
+        LocalDate to = endDate != null ? endDate : AssessmentRepository.MAX_DATE;
+        List<TrendBucket> buckets;
+        switch (granularity) {
+            case WEEK:
+                buckets = assessmentRepository.sumByWeek(from, to);
+                break;
+            case MONTH:
+                buckets = assessmentRepository.sumByMonth(from, to);
+                break;
+            default:
+                buckets = assessmentRepository.sumByDay(from, to);
+                break;
         }
-
-        return groupedData.entrySet().stream()
-                .map(entry -> new TrendData(
-                        entry.getKey(),
-                        entry.getValue().stream().mapToDouble(Double::doubleValue).average().orElse(0.0)
-                ))
-                .sorted((a, b) -> a.getDate().compareTo(b.getDate()))
-                .collect(Collectors.toList());
+        return summarize(buckets);
     }
 
     /**
-     * Excel导入功能
+     * 合并分组汇总结果，生成平均值和趋势数据
      */
-    public List<Assessment> importFromExcel(MultipartFile file) throws IOException {
-        List<Assessment> assessments = new ArrayList<>();
-
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-
-            // 跳过标题行，从第二行开始读取
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                try {
-                    Assessment assessment = new Assessment();
-
-                    // 读取每列数据
-                    String studentName = getCellStringValue(row.getCell(0));
-                    if (studentName.trim().isEmpty()) continue; // 跳过空行
-
-                    assessment.setStudentName(studentName);
-                    
-                    // 读取评估时间
-                    Cell dateCell = row.getCell(1);
-                    if (dateCell != null) {
-                        try {
-                            LocalDate date;
-                            if (dateCell.getCellType() == CellType.NUMERIC) {
-                                date = dateCell.getLocalDateTimeCellValue().toLocalDate();
-                            } else {
-                                // 尝试解析字符串格式的日期
-                                String dateStr = dateCell.getStringCellValue();
-                                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-                                date = LocalDate.parse(dateStr, formatter);
-                            }
-                            assessment.setAssessmentDate(date);
-                        } catch (Exception e) {
-                            // 如果日期解析失败，使用当前日期
-                            assessment.setAssessmentDate(LocalDate.now());
-                        }
-                    } else {
-                        assessment.setAssessmentDate(LocalDate.now());
-                    }
-                    
-                    assessment.setDisciplineScore((int) getCellNumericValue(row.getCell(2)));
-                    assessment.setSkillCompletionRate(getCellNumericValue(row.getCell(3)));
-                    assessment.setTasksCompleted((int) getCellNumericValue(row.getCell(4)));
-                    assessment.setTotalTasks((int) getCellNumericValue(row.getCell(5)));
-
-                    // 数据验证
-                    if (isValidAssessment(assessment)) {
-                        assessments.add(assessment);
-                    }
-                } catch (Exception e) {
-                    System.err.println("处理第" + (i + 1) + "行时出错: " + e.getMessage());
-                    // 继续处理其他行
-                }
-            }
-        }
-
-        // 批量保存
-        if (!assessments.isEmpty()) {
-            return assessmentRepository.saveAll(assessments);
+    private AssessmentStatistics summarize(List<TrendBucket> buckets) {
+        TrendAccumulator accumulator = new TrendAccumulator();
+        long count = 0;
+        double disciplineSum = 0.0;
+        double skillSum = 0.0;
+        double taskRateSum = 0.0;
+
+        for (TrendBucket bucket : buckets) {
+            long bucketDiscipline = bucket.getDisciplineSum() != null ? bucket.getDisciplineSum() : 0L;
+            double bucketSkill = bucket.getSkillSum() != null ? bucket.getSkillSum() : 0.0;
+            double bucketTaskRate = bucket.getTaskRateSum() != null ? bucket.getTaskRateSum() : 0.0;
+            accumulator.add((int) bucket.getBucket().toEpochDay(), bucket.getCount(),
+                    bucketDiscipline, bucketSkill, bucketTaskRate);
+
+            count += bucket.getCount();
+            disciplineSum += bucketDiscipline;
+            skillSum += bucketSkill;
+            taskRateSum += bucketTaskRate;
         }
 
-        return assessments;
-    }
-
-    /**
-     * 验证评估数据有效性
-     */
-    private boolean isValidAssessment(Assessment assessment) {
-        return assessment.getStudentName() != null && !assessment.getStudentName().trim().isEmpty()
-                && assessment.getAssessmentDate() != null  // 添加时间验证
-                && assessment.getDisciplineScore() != null && assessment.getDisciplineScore() >= 1 && assessment.getDisciplineScore() <= 5
-                && assessment.getSkillCompletionRate() != null && assessment.getSkillCompletionRate() >= 0 && assessment.getSkillCompletionRate() <= 100
-                && assessment.getTasksCompleted() != null && assessment.getTasksCompleted() >= 0
-                && assessment.getTotalTasks() != null && assessment.getTotalTasks() > 0
-                && assessment.getTasksCompleted() <= assessment.getTotalTasks();
+        AssessmentStatistics stats = new AssessmentStatistics();
+        stats.setAverageDisciplineScore(count > 0 ? disciplineSum / count : 0.0);
+        stats.setAverageSkillCompletionRate(count > 0 ? skillSum / count : 0.0);
+        stats.setAverageTaskCompletionRate(count > 0 ? taskRateSum / count : 0.0);
+        stats.setTotalAssessments(count);
+        accumulator.writeTrends(stats);
+        return stats;
     }
 
     /**
-     * 获取单元格字符串值
+     * 从数据库重建统计聚合
      */
-    private String getCellStringValue(Cell cell) {
-        if (cell == null) return "";
-
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                return String.valueOf((int) cell.getNumericCellValue());
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return "";
-        }
+    public AssessmentStatistics rebuildStatistics() {
+        statisticsAggregate.rebuild();
+        return statisticsAggregate.snapshot();
     }
 
     /**
-     * 获取单元格数值
+     * Excel导入功能（由 ImportJobService 在后台线程中调用）
+     * .xlsx 通过 SAX 事件模型边读边解析，不构建完整的工作簿 DOM；.xls 回退到 WorkbookFactory。
+     * 转换校验在多个线程中并行，有效行由单个写入线程按分块批量写入，见 ExcelImportPipeline。
+     * 取消时抛出 ImportCancelledException，此前已提交的分块保留。
      */
-    private double getCellNumericValue(Cell cell) {
-        if (cell == null) return 0.0;
-
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                return cell.getNumericCellValue();
-            case STRING:
-                try {
-                    return Double.parseDouble(cell.getStringCellValue().trim());
-                } catch (NumberFormatException e) {
-                    return 0.0;
-                }
-            case FORMULA:
-                try {
-                    return cell.getNumericCellValue();
-                } catch (Exception e) {
-                    return 0.0;
-                }
-            default:
-                return 0.0;
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void importFromExcel(File file, ImportJob job) throws IOException {
+        excelImportPipeline.run(file, job);
     }
 
     /**
-     * 根据日期范围获取评估记录
+     * 根据日期范围获取评估记录，日期闭区间 [startDate, endDate]，为空时不限
      */
     public List<Assessment> getAssessmentsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return assessmentRepository.findByDateRange(startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
+        return assessmentRepository.findByDateRange(
+                startDate != null ? startDate : AssessmentRepository.MIN_DATE,
+                endDate != null ? endDate : AssessmentRepository.MAX_DATE);
     }
 
     /**
@@ -0,0 +1,39 @@
+package com.assessment.service;
+
+import com.assessment.event.AssessmentChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 评估数据版本号
+ * 保存路径: src/main/java/com/assessment/service/DataVersion.java
+ *
+ * 每次新增、修改、删除或导入分块提交后加一，用作派生结果（如 PDF 报告）的缓存键。
+ * 版本号只在进程内有效，对外的标识带上启动时间，重启后不会与之前的 ETag 混淆。
+ */
+@Component
+public class DataVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssessmentChange(AssessmentChangeEvent event) {
+        if (!event.isEmpty()) {
+            version.incrementAndGet();
+        }
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * 对外的版本标识，格式为 "启动时间-版本号"
+     */
+    public String tag(long version) {
+        return Long.toString(epoch, 36) + "-" + version;
+    }
+}
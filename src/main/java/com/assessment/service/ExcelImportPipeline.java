@@ -0,0 +1,282 @@
+package com.assessment.service;
+
+import com.assessment.entity.Assessment;
+import com.assessment.importer.AssessmentRowMapper;
+import com.assessment.importer.ExcelRowReader;
+import com.assessment.importer.ImportCancelledException;
+import com.assessment.importer.ImportJob;
+import com.assessment.importer.RawRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Excel导入流水线：读取 → 并行转换校验 → 单线程批量写入
+ * 保存路径: src/main/java/com/assessment/service/ExcelImportPipeline.java
+ *
+ * 调用线程负责读取（SAX 解析只能单线程），原始行按批放入有界队列；
+ * parser-threads 个工作线程把原始行转换为评估记录并校验，有效记录放入第二个有界队列；
+ * 唯一的写入线程按 chunk-size 累积后交给 AssessmentBatchWriter，保证同一时刻只有一个写事务。
+ * 队列有界，写入慢时读取会被阻塞，内存占用与文件大小无关。
+ * 任一阶段出错或任务被取消时，其余阶段在下一次检查时退出。
+ */
+@Component
+public class ExcelImportPipeline {
+
+    // 队列中传递的批大小，减少每行一次的队列同步开销
+    private static final int ROW_BATCH_SIZE = 500;
+    private static final List<RawRow> END_OF_ROWS = Collections.emptyList();
+    private static final List<Assessment> END_OF_ASSESSMENTS = Collections.emptyList();
+
+    @Autowired
+    private AssessmentBatchWriter assessmentBatchWriter;
+
+    @Value("${assessment.import.chunk-size:5000}")
+    private int chunkSize;
+
+    // 转换校验线程数，默认为 CPU 核数
+    @Value("${assessment.import.parser-threads:0}")
+    private int parserThreads;
+
+    // 每个队列最多缓存的批数
+    @Value("${assessment.import.queue-batches:32}")
+    private int queueBatches;
+
+    /**
+     * 执行导入，进度和行错误记录到 job 中；取消时抛出 ImportCancelledException
+     */
+    public void run(File file, ImportJob job) throws IOException {
+        int workers = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<List<RawRow>> rawQueue = new ArrayBlockingQueue<>(queueBatches);
+        BlockingQueue<List<Assessment>> validQueue = new ArrayBlockingQueue<>(queueBatches);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Thread> parsers = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            Thread parser = new Thread(() -> parse(rawQueue, validQueue, job, failure),
+                    Thread.currentThread().getName() + "-parser-" + i);
+            parsers.add(parser);
+            parser.start();
+        }
+        Thread writer = new Thread(() -> write(validQueue, workers, job, failure),
+                Thread.currentThread().getName() + "-writer");
+        writer.start();
+
+        try {
+            RowBatcher batcher = new RowBatcher(rawQueue, job, failure);
+            ExcelRowReader.forFile(file).read(file, batcher);
+            batcher.flush();
+        } catch (RuntimeException | IOException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            // 每个工作线程一个结束标记
+            for (int i = 0; i < workers; i++) {
+                putMarker(rawQueue, END_OF_ROWS);
+            }
+            joinAll(parsers);
+            joinAll(Collections.singletonList(writer));
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            if (error instanceof IOException) throw (IOException) error;
+            if (error instanceof RuntimeException) throw (RuntimeException) error;
+            throw new IllegalStateException(error);
+        }
+    }
+
+    /**
+     * 工作线程：转换并校验原始行，每个输入批对应一个输出批。
+     * 出错后继续从队列取数据直到结束标记，保证读取线程不会阻塞在满队列上。
+     */
+    private void parse(BlockingQueue<List<RawRow>> rawQueue, BlockingQueue<List<Assessment>> validQueue,
+                       ImportJob job, AtomicReference<Throwable> failure) {
+        try {
+            while (true) {
+                List<RawRow> rows = rawQueue.take();
+                if (rows == END_OF_ROWS) break;
+                if (failure.get() != null) continue;
+
+                try {
+                    List<Assessment> valid = new ArrayList<>(rows.size());
+                    for (RawRow row : rows) {
+                        try {
+                            Assessment assessment = AssessmentRowMapper.toAssessment(row);
+                            if (assessment == null) continue; // 跳过空行
+                            job.rowParsed();
+
+                            // 数据验证
+                            String error = AssessmentRowMapper.validate(assessment);
+                            if (error != null) {
+                                job.rowRejected(row.getRowNumber(), error);
+                            } else {
+                                valid.add(assessment);
+                            }
+                        } catch (Exception e) {
+                            // 记录错误，继续处理其他行
+                            job.rowRejected(row.getRowNumber(), "解析失败: " + e.getMessage());
+                        }
+                    }
+                    if (!valid.isEmpty()) {
+                        put(validQueue, valid, job, failure);
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, new ImportCancelledException());
+            Thread.currentThread().interrupt();
+        } finally {
+            putMarker(validQueue, END_OF_ASSESSMENTS);
+        }
+    }
+
+    /**
+     * 写入线程：累积到 chunk-size 后在一个事务中批量写入；出错后只排空队列
+     */
+    private void write(BlockingQueue<List<Assessment>> validQueue, int producers,
+                       ImportJob job, AtomicReference<Throwable> failure) {
+        List<Assessment> chunk = new ArrayList<>(chunkSize);
+        int finishedProducers = 0;
+        try {
+            while (finishedProducers < producers) {
+                List<Assessment> assessments = validQueue.take();
+                if (assessments == END_OF_ASSESSMENTS) {
+                    finishedProducers++;
+                    continue;
+                }
+                if (failure.get() != null) continue;
+
+                chunk.addAll(assessments);
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, job, failure);
+                }
+            }
+            // 写入最后一个分块
+            if (failure.get() == null && !chunk.isEmpty()) {
+                writeChunk(chunk, job, failure);
+            }
+        } catch (InterruptedException e) {
+            failure.compareAndSet(null, new ImportCancelledException());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeChunk(List<Assessment> chunk, ImportJob job, AtomicReference<Throwable> failure) {
+        try {
+            if (job.isCancelRequested()) {
+                throw new ImportCancelledException();
+            }
+            assessmentBatchWriter.insert(new ArrayList<>(chunk));
+            job.rowsAccepted(chunk.size());
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+        chunk.clear();
+    }
+
+    /**
+     * 放入队列；队列满时等待，期间检查取消和其他阶段的错误
+     */
+    private <T> void put(BlockingQueue<T> queue, T item, ImportJob job, AtomicReference<Throwable> failure) {
+        try {
+            while (!queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                checkRunning(job, failure);
+            }
+            checkRunning(job, failure);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImportCancelledException();
+        }
+    }
+
+    private void checkRunning(ImportJob job, AtomicReference<Throwable> failure) {
+        if (job.isCancelRequested()) {
+            throw new ImportCancelledException();
+        }
+        Throwable error = failure.get();
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+    }
+
+    /**
+     * 放入结束标记；消费者在出错后只做排空，因此队列总会腾出空间
+     */
+    private <T> void putMarker(BlockingQueue<T> queue, T marker) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(marker);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 读取回调：把原始行攒成批再放入队列
+     */
+    private class RowBatcher implements Consumer<RawRow> {
+        private final BlockingQueue<List<RawRow>> queue;
+        private final ImportJob job;
+        private final AtomicReference<Throwable> failure;
+        private List<RawRow> batch = new ArrayList<>(ROW_BATCH_SIZE);
+
+        RowBatcher(BlockingQueue<List<RawRow>> queue, ImportJob job, AtomicReference<Throwable> failure) {
+            this.queue = queue;
+            this.job = job;
+            this.failure = failure;
+        }
+
+        @Override
+        public void accept(RawRow row) {
+            batch.add(row);
+            if (batch.size() >= ROW_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) return;
+            put(queue, batch, job, failure);
+            batch = new ArrayList<>(ROW_BATCH_SIZE);
+        }
+    }
+
+    private void joinAll(List<Thread> threads) {
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
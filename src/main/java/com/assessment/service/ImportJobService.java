@@ -0,0 +1,164 @@
+package com.assessment.service;
+
+import com.assessment.importer.ImportCancelledException;
+import com.assessment.importer.ImportJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 后台导入任务管理
+ * 保存路径: src/main/java/com/assessment/service/ImportJobService.java
+ *
+ * 上传文件先在请求线程中写入临时文件（请求结束后 multipart 临时文件会被删除），
+ * 然后交给有界线程池执行解析、校验和写入，请求立即返回任务 ID。
+ * 线程数和排队数都有上限，超出时拒绝提交；已结束的任务只保留最近的若干个。
+ */
+@Service
+public class ImportJobService {
+
+    @Autowired
+    private AssessmentService assessmentService;
+
+    @Value("${assessment.import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${assessment.import.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${assessment.import.retained-jobs:20}")
+    private int retainedJobs;
+
+    @Value("${assessment.import.max-errors:100}")
+    private int maxErrors;
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-");
+        // 关闭时不中断导入线程（中断会关闭 H2 的文件通道），等待其在取消后自行退出
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    /**
+     * 关闭时取消所有未结束的任务，让导入线程在下一行处退出
+     */
+    @PreDestroy
+    public void shutdown() {
+        synchronized (jobs) {
+            jobs.values().forEach(ImportJob::requestCancel);
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * 提交导入任务，线程池已满时抛出 TaskRejectedException
+     */
+    public ImportJob submit(MultipartFile file) throws IOException {
+        Path tempFile = Files.createTempFile("assessment-import-", ".tmp");
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(file.getOriginalFilename(), maxErrors);
+        try {
+            executor.execute(() -> run(job, tempFile));
+        } catch (TaskRejectedException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            pruneFinishedJobs();
+        }
+        return job;
+    }
+
+    public ImportJob getJob(String id) {
+        synchronized (jobs) {
+            return jobs.get(id);
+        }
+    }
+
+    public List<ImportJob> getJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    /**
+     * 请求取消任务；任务不存在时返回 null
+     */
+    public ImportJob cancel(String id) {
+        ImportJob job = getJob(id);
+        if (job != null && !job.getStatus().isFinished()) {
+            job.requestCancel();
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, Path tempFile) {
+        job.start();
+        try {
+            if (job.isCancelRequested()) {
+                throw new ImportCancelledException();
+            }
+            assessmentService.importFromExcel(tempFile.toFile(), job);
+            job.finish(ImportJob.Status.COMPLETED, "成功导入 " + job.getAccepted() + " 条记录"
+                    + (job.getRejected() > 0 ? "，跳过 " + job.getRejected() + " 条无效记录" : ""));
+        } catch (ImportCancelledException e) {
+            job.finish(ImportJob.Status.CANCELLED, "导入已取消，已写入 " + job.getAccepted() + " 条记录");
+        } catch (Exception e) {
+            e.printStackTrace();
+            job.finish(ImportJob.Status.FAILED, "导入失败: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                System.err.println("删除临时文件失败: " + tempFile);
+            }
+        }
+    }
+
+    /**
+     * 按提交顺序删除最早结束的任务，直到已结束的任务不超过 retainedJobs 个
+     */
+    private void pruneFinishedJobs() {
+        long finished = jobs.values().stream().filter(job -> job.getStatus().isFinished()).count();
+        Iterator<ImportJob> iterator = jobs.values().iterator();
+        while (finished > retainedJobs && iterator.hasNext()) {
+            if (iterator.next().getStatus().isFinished()) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+}
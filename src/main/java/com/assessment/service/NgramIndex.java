@@ -0,0 +1,139 @@
+package com.assessment.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 字符串 n-gram 倒排索引，用于子串搜索（不区分大小写）
+ * 保存路径: src/main/java/com/assessment/service/NgramIndex.java
+ *
+ * 按 Unicode 码点（而不是 char）切分，中文、生僻字（代理对）都按单个字符处理。
+ * 为每个字符串索引长度 1 到 3 的全部 gram：中文姓名通常只有 2-3 个字，
+ * 1-3 个字的关键字可以直接命中一个 gram 的倒排表；更长的关键字取其各个 trigram 中
+ * 倒排表最短的一个作为候选集，再逐个校验是否包含完整关键字。
+ * 每个字符串带引用计数（对应的记录数），计数归零时从索引中移除。非线程安全。
+ */
+public class NgramIndex {
+
+    public static final int MAX_GRAM = 3;
+
+    // 原始字符串 -> 引用计数
+    private final Map<String, Integer> counts = new HashMap<>();
+    // 原始字符串 -> 规范化（小写）形式
+    private final Map<String, String> normalized = new HashMap<>();
+    // gram -> 包含该 gram 的原始字符串
+    private final Map<String, Set<String>> postings = new HashMap<>();
+
+    /**
+     * 增加引用计数，首次出现时建立索引
+     */
+    public void add(String value, int count) {
+        if (value == null || count <= 0) return;
+        Integer previous = counts.get(value);
+        if (previous != null) {
+            counts.put(value, previous + count);
+            return;
+        }
+
+        counts.put(value, count);
+        String key = normalize(value);
+        normalized.put(value, key);
+        for (String gram : grams(key)) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(value);
+        }
+    }
+
+    /**
+     * 减少引用计数，归零时从索引中移除
+     */
+    public void remove(String value, int count) {
+        if (value == null || count <= 0) return;
+        Integer previous = counts.get(value);
+        if (previous == null) return;
+        if (previous > count) {
+            counts.put(value, previous - count);
+            return;
+        }
+
+        counts.remove(value);
+        String key = normalized.remove(value);
+        for (String gram : grams(key)) {
+            Set<String> values = postings.get(gram);
+            if (values != null) {
+                values.remove(value);
+                if (values.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * 查找包含关键字的全部字符串（不区分大小写），关键字为空时返回全部
+     */
+    public List<String> search(String keyword) {
+        String key = normalize(keyword == null ? "" : keyword);
+        int[] codePoints = key.codePoints().toArray();
+        if (codePoints.length == 0) {
+            return new ArrayList<>(counts.keySet());
+        }
+        if (codePoints.length <= MAX_GRAM) {
+            Set<String> values = postings.get(key);
+            return values != null ? new ArrayList<>(values) : Collections.emptyList();
+        }
+
+        // 取倒排表最短的 trigram 作为候选集
+        Set<String> candidates = null;
+        for (int i = 0; i + MAX_GRAM <= codePoints.length; i++) {
+            Set<String> values = postings.get(new String(codePoints, i, MAX_GRAM));
+            if (values == null) {
+                return Collections.emptyList();
+            }
+            if (candidates == null || values.size() < candidates.size()) {
+                candidates = values;
+            }
+        }
+
+        List<String> matches = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (normalized.get(candidate).contains(key)) {
+                matches.add(candidate);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 已索引的不同字符串个数
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    public void clear() {
+        counts.clear();
+        normalized.clear();
+        postings.clear();
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String key) {
+        int[] codePoints = key.codePoints().toArray();
+        Set<String> grams = new HashSet<>();
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= codePoints.length; i++) {
+                grams.add(new String(codePoints, i, n));
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,207 @@
+package com.assessment.service;
+
+import com.assessment.event.AssessmentChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * PDF报告缓存
+ * 保存路径: src/main/java/com/assessment/service/ReportCache.java
+ *
+ * 以 DataVersion 为缓存键：数据未变化时直接返回上次生成的报告，版本标识同时用作 ETag。
+ * 报告保存在临时目录的文件中，命中时从文件复制到响应流；未命中时边生成边写入响应流和缓存文件。
+ * 数据变更后在后台重新生成（regenerate-delay 内的连续写入只触发一次，导入大文件时不会反复生成），
+ * 下载请求通常能直接命中缓存；同一时刻只有一个生成过程。
+ */
+@Service
+public class ReportCache {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Value("${assessment.report.regenerate-delay:2s}")
+    private Duration regenerateDelay;
+
+    private final Object generationLock = new Object();
+    private volatile Report cached;
+
+    private Path cacheDirectory;
+    private ThreadPoolTaskScheduler scheduler;
+    private ScheduledFuture<?> pendingRegeneration;
+
+    @PostConstruct
+    public void init() throws IOException {
+        cacheDirectory = Files.createTempDirectory("assessment-report-");
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("report-");
+        scheduler.initialize();
+        // 启动后预先生成一次
+        scheduleRegeneration();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        scheduler.shutdown();
+        Report report = cached;
+        if (report != null) {
+            Files.deleteIfExists(report.getFile());
+        }
+        Files.deleteIfExists(cacheDirectory);
+    }
+
+    /**
+     * 当前数据版本的标识，用作 ETag
+     */
+    public String currentTag() {
+        return dataVersion.tag(dataVersion.current());
+    }
+
+    /**
+     * 把与当前数据版本一致的报告写入输出流，必要时生成
+     */
+    public void writeReport(OutputStream outputStream) throws Exception {
+        Report report = cached;
+        if (isCurrent(report)) {
+            Files.copy(report.getFile(), outputStream);
+            return;
+        }
+
+        synchronized (generationLock) {
+            report = cached;
+            if (isCurrent(report)) {
+                Files.copy(report.getFile(), outputStream);
+                return;
+            }
+            generate(outputStream);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssessmentChange(AssessmentChangeEvent event) {
+        if (!event.isEmpty()) {
+            scheduleRegeneration();
+        }
+    }
+
+    private boolean isCurrent(Report report) {
+        return report != null && report.getVersion() == dataVersion.current();
+    }
+
+    /**
+     * 生成报告到新的缓存文件，同时写入 outputStream（可为 null），成功后替换旧文件。
+     * 先读取版本号再生成：生成期间发生的写入会让下一次请求重新生成
+     */
+    private void generate(OutputStream outputStream) throws Exception {
+        long version = dataVersion.current();
+        Path file = Files.createTempFile(cacheDirectory, "report-", ".pdf");
+        try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+            reportService.writePDFReport(outputStream != null ? new TeeOutputStream(fileOut, outputStream) : fileOut);
+        } catch (Exception e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        Report previous = cached;
+        cached = new Report(version, file);
+        if (previous != null) {
+            // 正在复制旧文件的请求已持有文件句柄，删除不影响其读取
+            Files.deleteIfExists(previous.getFile());
+        }
+    }
+
+    /**
+     * 延迟 regenerate-delay 后在后台生成；已有未开始的计划时重新计时
+     */
+    private synchronized void scheduleRegeneration() {
+        if (pendingRegeneration != null) {
+            pendingRegeneration.cancel(false);
+        }
+        pendingRegeneration = scheduler.schedule(() -> {
+            try {
+                synchronized (generationLock) {
+                    if (!isCurrent(cached)) {
+                        generate(null);
+                    }
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }, Instant.now().plus(regenerateDelay));
+    }
+
+    /**
+     * 某个数据版本对应的报告文件
+     */
+    private static class Report {
+        private final long version;
+        private final Path file;
+
+        Report(long version, Path file) {
+            this.version = version;
+            this.file = file;
+        }
+
+        long getVersion() {
+            return version;
+        }
+
+        Path getFile() {
+            return file;
+        }
+    }
+
+    /**
+     * 同时写入缓存文件和响应流
+     */
+    private static class TeeOutputStream extends OutputStream {
+        private final OutputStream first;
+        private final OutputStream second;
+
+        TeeOutputStream(OutputStream first, OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            first.write(b, off, len);
+            second.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // 由调用方分别关闭
+            flush();
+        }
+    }
+}
@@ -2,78 +2,114 @@ package com.assessment.service;
 
 import com.assessment.dto.AssessmentStatistics;
 import com.assessment.entity.Assessment;
+import com.assessment.repository.AssessmentRepository;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * PDF报告生成服务
  * 保存路径: src/main/java/com/assessment/service/ReportService.java
+ *
+ * 报告直接写入调用方提供的输出流（响应流或缓存文件），不在内存中保留完整的 PDF。
  */
 @Service
 public class ReportService {
     
+    // 明细表每次从数据库读取的行数
+    private static final int DETAIL_PAGE_SIZE = 1000;
+    
     @Autowired
     private AssessmentService assessmentService;
     
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // 中文字体只加载一次
+    private volatile BaseFont chineseFont;
+    
     /**
-     * 生成PDF报告
+     * 生成PDF报告并直接写入输出流（不关闭输出流）
+     * 明细行按页从数据库读取，写出后即从持久化上下文中分离，内存占用与总行数无关
      */
-    public byte[] generatePDFReport() throws DocumentException, IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    @Transactional(readOnly = true)
+    public void writePDFReport(OutputStream outputStream) throws DocumentException, IOException {
         Document document = new Document(PageSize.A4);
-        PdfWriter.getInstance(document, baos);
+        PdfWriter writer = PdfWriter.getInstance(document, outputStream);
+        writer.setCloseStream(false);
         
         document.open();
         
+        BaseFont baseFont;
         try {
             // 添加中文字体支持
-            BaseFont baseFont = BaseFont.createFont("STSong-Light", "UniGB-UCS2-H", BaseFont.NOT_EMBEDDED);
-            Font titleFont = new Font(baseFont, 18, Font.BOLD);
-            Font headerFont = new Font(baseFont, 12, Font.BOLD);
-            Font contentFont = new Font(baseFont, 10, Font.NORMAL);
-            
-            // 标题
-            Paragraph title = new Paragraph("评估系统统计报告", titleFont);
-            title.setAlignment(Element.ALIGN_CENTER);
-            title.setSpacingAfter(20);
-            document.add(title);
-            
-            // 报告生成时间
-            Paragraph reportTime = new Paragraph(
-                "报告生成时间: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy年MM月dd日 HH:mm:ss")), 
-                contentFont
-            );
-            reportTime.setAlignment(Element.ALIGN_RIGHT);
-            reportTime.setSpacingAfter(20);
-            document.add(reportTime);
-            
-            // 获取统计数据
-            AssessmentStatistics stats = assessmentService.getStatistics();
-            
-            // 概述信息
-            addSummarySection(document, stats, headerFont, contentFont);
-            
-            // 详细数据表格
-            addDetailTable(document, headerFont, contentFont);
-            
-            // 分析总结
-            addAnalysisSection(document, stats, headerFont, contentFont);
-            
-        } catch (Exception e) {
+            baseFont = getChineseFont();
+        } catch (DocumentException | IOException e) {
             // 如果中文字体不可用，使用默认字体
             generateSimplePDFReport(document);
+            document.close();
+            return;
         }
         
+        Font titleFont = new Font(baseFont, 18, Font.BOLD);
+        Font headerFont = new Font(baseFont, 12, Font.BOLD);
+        Font contentFont = new Font(baseFont, 10, Font.NORMAL);
+        
+        // 标题
+        Paragraph title = new Paragraph("评估系统统计报告", titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(20);
+        document.add(title);
+        
+        // 报告生成时间
+        Paragraph reportTime = new Paragraph(
+            "报告生成时间: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy年MM月dd日 HH:mm:ss")), 
+            contentFont
+        );
+        reportTime.setAlignment(Element.ALIGN_RIGHT);
+        reportTime.setSpacingAfter(20);
+        document.add(reportTime);
+        
+        // 获取统计数据
+        AssessmentStatistics stats = assessmentService.getStatistics();
+        
+        // 概述信息
+        addSummarySection(document, stats, headerFont, contentFont);
+        
+        // 详细数据表格
+        addDetailTable(document, headerFont, contentFont);
+        
+        // 分析总结
+        addAnalysisSection(document, stats, headerFont, contentFont);
+        
         document.close();
-        return baos.toByteArray();
+    }
+    
+    /**
+     * 获取中文字体（STSong-Light），首次调用时加载
+     */
+    private BaseFont getChineseFont() throws DocumentException, IOException {
+        BaseFont font = chineseFont;
+        if (font == null) {
+            font = BaseFont.createFont("STSong-Light", "UniGB-UCS2-H", BaseFont.NOT_EMBEDDED);
+            chineseFont = font;
+        }
+        return font;
     }
     
     /**
@@ -114,11 +150,12 @@ public class ReportService {
     
     /**
      * 添加详细数据表格
+     * 表格标记为未完成，每读取一页就加入文档，iText 会写出已排版的行并释放它们
      */
     private void addDetailTable(Document document, Font headerFont, Font contentFont) throws DocumentException {
-        List<Assessment> assessments = assessmentService.getAllAssessments();
+        List<Assessment> page = assessmentRepository.findFirstPageAsc(PageRequest.of(0, DETAIL_PAGE_SIZE));
         
-        if (assessments.isEmpty()) {
+        if (page.isEmpty()) {
             Paragraph noData = new Paragraph("暂无评估数据", contentFont);
             noData.setAlignment(Element.ALIGN_CENTER);
             document.add(noData);
@@ -135,12 +172,13 @@ public class ReportService {
         PdfPTable detailTable = new PdfPTable(6);
         detailTable.setWidthPercentage(100);
         detailTable.setSpacingAfter(20);
+        detailTable.setComplete(false);
         
         // 设置列宽
         float[] columnWidths = {2f, 2f, 1.5f, 1.5f, 1.5f, 1.5f};
         detailTable.setWidths(columnWidths);
         
-        // 表头
+        // 表头（每页重复）
         String[] headers = {"学生姓名", "评估日期", "纪律遵守度", "技能达标率", "已完成任务", "总任务数"};
         for (String header : headers) {
             PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
@@ -149,18 +187,31 @@ public class ReportService {
             cell.setHorizontalAlignment(Element.ALIGN_CENTER);
             detailTable.addCell(cell);
         }
+        detailTable.setHeaderRows(1);
         
         // 数据行
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        for (Assessment assessment : assessments) {
-            detailTable.addCell(createDataCell(assessment.getStudentName(), contentFont));
-            detailTable.addCell(createDataCell(assessment.getAssessmentDate().format(formatter), contentFont));
-            detailTable.addCell(createDataCell(assessment.getDisciplineScore() + "/5", contentFont));
-            detailTable.addCell(createDataCell(String.format("%.1f%%", assessment.getSkillCompletionRate()), contentFont));
-            detailTable.addCell(createDataCell(assessment.getTasksCompleted().toString(), contentFont));
-            detailTable.addCell(createDataCell(assessment.getTotalTasks().toString(), contentFont));
+        while (!page.isEmpty()) {
+            for (Assessment assessment : page) {
+                detailTable.addCell(createDataCell(assessment.getStudentName(), contentFont));
+                detailTable.addCell(createDataCell(assessment.getAssessmentDate().format(formatter), contentFont));
+                detailTable.addCell(createDataCell(assessment.getDisciplineScore() + "/5", contentFont));
+                detailTable.addCell(createDataCell(String.format("%.1f%%", assessment.getSkillCompletionRate()), contentFont));
+                detailTable.addCell(createDataCell(assessment.getTasksCompleted().toString(), contentFont));
+                detailTable.addCell(createDataCell(assessment.getTotalTasks().toString(), contentFont));
+                entityManager.detach(assessment);
+            }
+            // 写出本页已排版的行
+            document.add(detailTable);
+            
+            Assessment last = page.get(page.size() - 1);
+            page = page.size() < DETAIL_PAGE_SIZE
+                    ? Collections.emptyList()
+                    : assessmentRepository.findPageAfterAsc(last.getAssessmentDate(), last.getId(),
+                            PageRequest.of(0, DETAIL_PAGE_SIZE));
         }
         
+        detailTable.setComplete(true);
         document.add(detailTable);
     }
     
@@ -0,0 +1,117 @@
+package com.assessment.service;
+
+import com.assessment.dto.AssessmentStatistics;
+import com.assessment.dto.TrendBucket;
+import com.assessment.entity.Assessment;
+import com.assessment.event.AssessmentChangeEvent;
+import com.assessment.repository.AssessmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * 统计数据增量聚合
+ * 保存路径: src/main/java/com/assessment/service/StatisticsAggregate.java
+ *
+ * 在内存中维护总数、各项求和以及按日期的分桶求和（见 TrendAccumulator），每次写入以 O(1) 更新，
+ * /statistics 直接从这里读取，不再扫描 assessments 表。
+ * 启动时及调用 rebuild() 时从数据库 GROUP BY 结果重建。
+ */
+@Component
+@DependsOn("databaseMigration")
+public class StatisticsAggregate {
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    private final Totals totals = new Totals();
+    private final TrendAccumulator dailyTotals = new TrendAccumulator();
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    /**
+     * 从数据库重新计算全部聚合（用于启动和数据恢复）
+     */
+    public synchronized void rebuild() {
+        totals.clear();
+        dailyTotals.clear();
+        for (TrendBucket bucket : assessmentRepository.sumByDay(AssessmentRepository.MIN_DATE, AssessmentRepository.MAX_DATE)) {
+            long count = bucket.getCount();
+            long disciplineSum = bucket.getDisciplineSum() != null ? bucket.getDisciplineSum() : 0L;
+            double skillSum = bucket.getSkillSum() != null ? bucket.getSkillSum() : 0.0;
+            double taskRateSum = bucket.getTaskRateSum() != null ? bucket.getTaskRateSum() : 0.0;
+            dailyTotals.add((int) bucket.getBucket().toEpochDay(), count, disciplineSum, skillSum, taskRateSum);
+            totals.add(count, disciplineSum, skillSum, taskRateSum);
+        }
+    }
+
+    /**
+     * 事务提交后应用变更
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAssessmentChange(AssessmentChangeEvent event) {
+        for (Assessment assessment : event.getRemoved()) {
+            apply(assessment, -1);
+        }
+        for (Assessment assessment : event.getAdded()) {
+            apply(assessment, 1);
+        }
+    }
+
+    /**
+     * 生成当前统计快照
+     */
+    public synchronized AssessmentStatistics snapshot() {
+        AssessmentStatistics stats = new AssessmentStatistics();
+        stats.setAverageDisciplineScore(totals.average(totals.disciplineSum));
+        stats.setAverageSkillCompletionRate(totals.average(totals.skillSum));
+        stats.setAverageTaskCompletionRate(totals.average(totals.taskRateSum));
+        stats.setTotalAssessments(totals.count);
+        dailyTotals.writeTrends(stats);
+        return stats;
+    }
+
+    private void apply(Assessment assessment, int sign) {
+        if (assessment.getAssessmentDate() == null) return;
+        totals.add(sign, sign * (long) assessment.getDisciplineScore(),
+                sign * assessment.getSkillCompletionRate(), sign * assessment.getTaskCompletionRate());
+        dailyTotals.add(assessment, sign);
+        if (totals.count <= 0) {
+            totals.clear();
+        }
+    }
+
+    /**
+     * 计数与求和
+     */
+    private static class Totals {
+        long count;
+        long disciplineSum;
+        double skillSum;
+        double taskRateSum;
+
+        void add(long count, long disciplineSum, double skillSum, double taskRateSum) {
+            this.count += count;
+            this.disciplineSum += disciplineSum;
+            this.skillSum += skillSum;
+            this.taskRateSum += taskRateSum;
+        }
+
+        double average(double sum) {
+            return count > 0 ? sum / count : 0.0;
+        }
+
+        void clear() {
+            count = 0;
+            disciplineSum = 0;
+            skillSum = 0.0;
+            taskRateSum = 0.0;
+        }
+    }
+}
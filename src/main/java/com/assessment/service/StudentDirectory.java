@@ -0,0 +1,70 @@
+package com.assessment.service;
+
+import com.assessment.entity.Student;
+import com.assessment.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 学生姓名与学生 ID 的映射
+ * 保存路径: src/main/java/com/assessment/service/StudentDirectory.java
+ *
+ * 启动时把 students 表全部加载到内存，写入评估记录时按姓名取 ID，命中时不访问数据库。
+ * 新姓名在独立事务中插入 students 表并立即提交，外层事务回滚时缓存中也不会留下不存在的 ID。
+ */
+@Component
+@DependsOn("databaseMigration")
+public class StudentDirectory {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private TransactionTemplate newTransaction;
+
+    @PostConstruct
+    public void init() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (Student student : studentRepository.findAll()) {
+            idsByName.put(student.getName(), student.getId());
+        }
+    }
+
+    /**
+     * 已登记的学生 ID，姓名未出现过时返回 null
+     */
+    public Long findId(String name) {
+        return name != null ? idsByName.get(name) : null;
+    }
+
+    /**
+     * 取学生 ID，姓名未出现过时登记新学生
+     */
+    public Long idFor(String name) {
+        Long id = idsByName.get(name);
+        return id != null ? id : register(name);
+    }
+
+    private synchronized Long register(String name) {
+        Long id = idsByName.get(name);
+        if (id != null) return id;
+
+        id = newTransaction.execute(status -> studentRepository.findByName(name)
+                .orElseGet(() -> studentRepository.save(new Student(name)))
+                .getId());
+        idsByName.put(name, id);
+        return id;
+    }
+}
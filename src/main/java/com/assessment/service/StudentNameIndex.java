@@ -0,0 +1,69 @@
+package com.assessment.service;
+
+import com.assessment.dto.StudentNameCount;
+import com.assessment.entity.Assessment;
+import com.assessment.event.AssessmentChangeEvent;
+import com.assessment.repository.AssessmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * 学生姓名子串搜索索引
+ * 保存路径: src/main/java/com/assessment/service/StudentNameIndex.java
+ *
+ * 在内存中维护不同学生姓名的 n-gram 倒排索引（见 NgramIndex），关键字在微秒级解析为候选姓名。
+ * 启动时从数据库按姓名分组计数建立，之后随新增、修改、删除和导入增量更新。
+ */
+@Component
+@DependsOn("databaseMigration")
+public class StudentNameIndex {
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    private final NgramIndex index = new NgramIndex();
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        index.clear();
+        for (StudentNameCount nameCount : assessmentRepository.countByStudentName()) {
+            index.add(nameCount.getName(), nameCount.getCount().intValue());
+        }
+    }
+
+    /**
+     * 事务提交后应用变更
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAssessmentChange(AssessmentChangeEvent event) {
+        for (Assessment assessment : event.getRemoved()) {
+            index.remove(assessment.getStudentName(), 1);
+        }
+        for (Assessment assessment : event.getAdded()) {
+            index.add(assessment.getStudentName(), 1);
+        }
+    }
+
+    /**
+     * 返回包含关键字的全部学生姓名（不区分大小写）
+     */
+    public synchronized List<String> search(String keyword) {
+        return index.search(keyword);
+    }
+
+    /**
+     * 已索引的不同姓名个数
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+}
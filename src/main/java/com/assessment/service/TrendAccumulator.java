@@ -0,0 +1,169 @@
+package com.assessment.service;
+
+import com.assessment.dto.AssessmentStatistics;
+import com.assessment.dto.TrendData;
+import com.assessment.entity.Assessment;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 按日期的趋势累加器
+ * 保存路径: src/main/java/com/assessment/service/TrendAccumulator.java
+ *
+ * 以 epoch-day 为键的开放寻址哈希表，计数与求和存放在基本类型数组中，
+ * 一次遍历同时累加三项指标，输出时按日期排序生成三条趋势线。
+ * 非线程安全，由调用方负责同步。
+ */
+public class TrendAccumulator {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int[] days;
+    private long[] counts;
+    private long[] disciplineSums;
+    private double[] skillSums;
+    private double[] taskRateSums;
+    // 已占用的槽位数（计数归零的日期仍占用槽位，直到 clear()）
+    private int used;
+
+    public TrendAccumulator() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 单次遍历累加一批评估记录
+     */
+    public void addAll(List<Assessment> assessments) {
+        for (Assessment assessment : assessments) {
+            add(assessment, 1);
+        }
+    }
+
+    /**
+     * 累加(sign=1)或扣除(sign=-1)一条评估记录
+     */
+    public void add(Assessment assessment, int sign) {
+        if (assessment.getAssessmentDate() == null) return;
+        add((int) assessment.getAssessmentDate().toEpochDay(), sign,
+                sign * (long) assessment.getDisciplineScore(),
+                sign * assessment.getSkillCompletionRate(),
+                sign * assessment.getTaskCompletionRate());
+    }
+
+    /**
+     * 合并一个日期的计数与求和（用于从数据库分组结果重建）
+     */
+    public void add(int epochDay, long count, long disciplineSum, double skillSum, double taskRateSum) {
+        int slot = slotFor(epochDay);
+        counts[slot] += count;
+        disciplineSums[slot] += disciplineSum;
+        skillSums[slot] += skillSum;
+        taskRateSums[slot] += taskRateSum;
+    }
+
+    /**
+     * 有数据的日期数
+     */
+    public int size() {
+        int size = 0;
+        for (int slot = 0; slot < days.length; slot++) {
+            if (days[slot] != EMPTY && counts[slot] > 0) size++;
+        }
+        return size;
+    }
+
+    public void clear() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 按日期升序输出三条趋势线
+     */
+    public void writeTrends(AssessmentStatistics stats) {
+        long[] order = sortedSlots();
+        List<TrendData> disciplineTrend = new ArrayList<>(order.length);
+        List<TrendData> skillTrend = new ArrayList<>(order.length);
+        List<TrendData> taskTrend = new ArrayList<>(order.length);
+        for (long packed : order) {
+            int slot = (int) packed;
+            String date = LocalDate.ofEpochDay(days[slot]).format(DATE_FORMATTER);
+            double count = counts[slot];
+            disciplineTrend.add(new TrendData(date, disciplineSums[slot] / count));
+            skillTrend.add(new TrendData(date, skillSums[slot] / count));
+            taskTrend.add(new TrendData(date, taskRateSums[slot] / count));
+        }
+        stats.setDisciplineTrend(disciplineTrend);
+        stats.setSkillTrend(skillTrend);
+        stats.setTaskTrend(taskTrend);
+    }
+
+    /**
+     * 高32位为日期、低32位为槽位，按 long 排序即按日期排序
+     */
+    private long[] sortedSlots() {
+        long[] order = new long[used];
+        int n = 0;
+        for (int slot = 0; slot < days.length; slot++) {
+            if (days[slot] != EMPTY && counts[slot] > 0) {
+                order[n++] = ((long) days[slot] << 32) | slot;
+            }
+        }
+        order = Arrays.copyOf(order, n);
+        Arrays.sort(order);
+        return order;
+    }
+
+    private int slotFor(int epochDay) {
+        int mask = days.length - 1;
+        int slot = mix(epochDay) & mask;
+        while (days[slot] != EMPTY) {
+            if (days[slot] == epochDay) return slot;
+            slot = (slot + 1) & mask;
+        }
+        if ((used + 1) * 2 > days.length) {
+            grow();
+            return slotFor(epochDay);
+        }
+        days[slot] = epochDay;
+        used++;
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldDays = days;
+        long[] oldCounts = counts;
+        long[] oldDisciplineSums = disciplineSums;
+        double[] oldSkillSums = skillSums;
+        double[] oldTaskRateSums = taskRateSums;
+
+        allocate(oldDays.length * 2);
+        for (int slot = 0; slot < oldDays.length; slot++) {
+            // 扩容时顺带丢弃计数已归零的日期
+            if (oldDays[slot] != EMPTY && oldCounts[slot] != 0) {
+                add(oldDays[slot], oldCounts[slot], oldDisciplineSums[slot],
+                        oldSkillSums[slot], oldTaskRateSums[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        days = new int[capacity];
+        Arrays.fill(days, EMPTY);
+        counts = new long[capacity];
+        disciplineSums = new long[capacity];
+        skillSums = new double[capacity];
+        taskRateSums = new double[capacity];
+        used = 0;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}